@@ -0,0 +1,117 @@
+package geometries;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import primitives.Point3D;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of GeometryBuckets with Geometries (the linked list loop) on
+ * mixed scenes of spheres, planes, triangles, polygons and cylinders (a cylinder
+ * has no intersections yet - see GeometryBuckets - it costs the call of its query only).
+ * Every invocation intersects the same fixed set of rays, both the closest
+ * intersection (camera rays) and the any hit query (shadow rays) are measured
+ *
+ * @author AhronS, IsraelN
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class GeometryBucketsBenchmark {
+    private static final int RAYS = 256;
+
+    /**
+     * amount of geometries in the scene
+     */
+    @Param({"20", "200"})
+    public int geometriesCount;
+
+    private Ray[] rays;
+    private Geometries geometries;
+    private GeometryBuckets buckets;
+
+    /**
+     * create the mixed scene and the rays (the same for every run)
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(8702);
+        Intersectable[] mixed = new Intersectable[geometriesCount];
+        // one plane far behind the geometries, the others mixed round robin in a 20x20x10 box
+        mixed[0] = new Plane(new Point3D(0, 0, 40), new Vector(0.1, 0.2, 1));
+        for (int i = 1; i < geometriesCount; ++i) {
+            Point3D p = new Point3D(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10,
+                    random.nextDouble() * 10 + 15);
+            switch (i % 4) {
+                case 0:
+                    mixed[i] = new Sphere(0.5, p);
+                    break;
+                case 1:
+                    mixed[i] = new Triangle(p, p.add(new Vector(1, 0, 0)), p.add(new Vector(0, 1, 0.2)));
+                    break;
+                case 2:
+                    mixed[i] = new Polygon(p, p.add(new Vector(1, 0, 0)), p.add(new Vector(1, 1, 0)),
+                            p.add(new Vector(0, 1, 0)));
+                    break;
+                default:
+                    mixed[i] = new Cylinder(0.5, new Ray(p, new Vector(0, 1, 0)), 1d);
+            }
+        }
+        geometries = new Geometries(mixed);
+        buckets = new GeometryBuckets(mixed);
+
+        // rays from the origin through the scene box - about half of them hit a bounded geometry
+        rays = new Ray[RAYS];
+        for (int i = 0; i < RAYS; ++i)
+            rays[i] = new Ray(Point3D.ZERO,
+                    new Vector(random.nextDouble() * 16 - 8, random.nextDouble() * 16 - 8, 20).normalize());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void closestGeometries(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(geometries.findClosestIntersection(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void closestBuckets(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(buckets.findClosestIntersection(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void shadowGeometries(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(geometries.findTransparency(ray, 30, 1, 0.001));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void shadowBuckets(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(buckets.findTransparency(ray, 30, 1, 0.001));
+    }
+
+    /**
+     * run the benchmarks of this class
+     *
+     * @param args not used
+     * @throws RunnerException on JMH failure
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GeometryBucketsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package geometries;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import primitives.Point3D;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the geometries intersection kernels.
+ * Every invocation intersects the same fixed set of rays aimed around the
+ * geometry, so both hits and misses are measured
+ *
+ * @author AhronS, IsraelN
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class IntersectionsBenchmark {
+    private static final int RAYS = 256;
+
+    private Ray[] rays;
+    private Sphere sphere;
+    private Plane plane;
+    private Triangle triangle;
+    private Polygon polygon;
+
+    /**
+     * create the geometries and the rays (the same for every run)
+     */
+    @Setup
+    public void setup() {
+        sphere = new Sphere(1d, new Point3D(0, 0, 5));
+        plane = new Plane(new Point3D(0, 0, 5), new Vector(0.1, 0.2, 1));
+        triangle = new Triangle(new Point3D(-1, -1, 5), new Point3D(1, -1, 5), new Point3D(0, 1, 5));
+        polygon = new Polygon(new Point3D(-1, -1, 5), new Point3D(1, -1, 5),
+                new Point3D(1, 1, 5), new Point3D(-1, 1, 5));
+
+        // rays from the origin through a 4x4 window around the geometries - about half of them hit
+        Random random = new Random(8702);
+        rays = new Ray[RAYS];
+        for (int i = 0; i < RAYS; ++i)
+            rays[i] = new Ray(Point3D.ZERO,
+                    new Vector(random.nextDouble() * 4 - 2, random.nextDouble() * 4 - 2, 5).normalize());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void sphere(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(sphere.findIntersections(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void plane(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(plane.findIntersections(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void triangle(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(triangle.findIntersections(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void polygon(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(polygon.findIntersections(ray));
+    }
+
+    /**
+     * run the benchmarks of this class
+     *
+     * @param args not used
+     * @throws RunnerException on JMH failure
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IntersectionsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
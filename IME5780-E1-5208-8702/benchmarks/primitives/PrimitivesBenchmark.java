@@ -0,0 +1,87 @@
+package primitives;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the Vector and Point3D arithmetic
+ *
+ * @author AhronS, IsraelN
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PrimitivesBenchmark {
+    private Vector v1, v2;
+    private Point3D p1, p2;
+
+    /**
+     * create the operands (the same for every run)
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(5208);
+        v1 = new Vector(random.nextDouble() + 1, random.nextDouble(), random.nextDouble());
+        v2 = new Vector(random.nextDouble(), random.nextDouble() + 1, random.nextDouble());
+        p1 = new Point3D(random.nextDouble(), random.nextDouble(), random.nextDouble());
+        p2 = new Point3D(random.nextDouble() + 2, random.nextDouble(), random.nextDouble());
+    }
+
+    @Benchmark
+    public Vector vectorAdd() {
+        return v1.add(v2);
+    }
+
+    @Benchmark
+    public Vector vectorScale() {
+        return v1.scale(1.5);
+    }
+
+    @Benchmark
+    public double vectorDotProduct() {
+        return v1.dotProduct(v2);
+    }
+
+    @Benchmark
+    public Vector vectorCrossProduct() {
+        return v1.crossProduct(v2);
+    }
+
+    @Benchmark
+    public Vector vectorNormalized() {
+        return v1.normalized();
+    }
+
+    @Benchmark
+    public Vector pointSubtract() {
+        return p2.subtract(p1);
+    }
+
+    @Benchmark
+    public Point3D pointAdd() {
+        return p1.add(v1);
+    }
+
+    @Benchmark
+    public double pointDistance() {
+        return p1.distance(p2);
+    }
+
+    /**
+     * run the benchmarks of this class
+     *
+     * @param args not used
+     * @throws RunnerException on JMH failure
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PrimitivesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
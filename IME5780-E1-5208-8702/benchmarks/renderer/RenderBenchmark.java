@@ -0,0 +1,156 @@
+package renderer;
+
+import elements.AmbientLight;
+import elements.Camera;
+import elements.SpotLight;
+import geometries.Sphere;
+import geometries.Triangle;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import primitives.Color;
+import primitives.Material;
+import primitives.Point3D;
+import primitives.Ray;
+import primitives.Vector;
+import scene.Scene;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of Render.calcColor on the scenes of the renderer tests.
+ * Every invocation traces the primary rays of a sparse grid of the image pixels
+ *
+ * @author AhronS, IsraelN
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RenderBenchmark {
+    // every GRID_STEP pixel on both axes is traced
+    private static final int GRID_STEP = 10;
+
+    /**
+     * the test scene (named by the renderer test that produces it)
+     */
+    @Param({"sphereTriangleInitial", "shadowWithTransparency", "twoSpheresMirrored"})
+    public String sceneName;
+
+    private Render render;
+    private Ray[] rays;
+
+    /**
+     * build the scene and the primary rays (the same for every run)
+     */
+    @Setup
+    public void setup() {
+        Scene scene;
+        ImageWriter imageWriter;
+        switch (sceneName) {
+            case "sphereTriangleInitial":
+                scene = sphereTriangleInitial();
+                imageWriter = new ImageWriter(sceneName, 200, 200, 400, 400);
+                break;
+            case "shadowWithTransparency":
+                scene = shadowWithTransparency();
+                imageWriter = new ImageWriter(sceneName, 200, 200, 600, 600);
+                break;
+            case "twoSpheresMirrored":
+                scene = twoSpheresMirrored();
+                imageWriter = new ImageWriter(sceneName, 2500, 2500, 500, 500);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown scene " + sceneName);
+        }
+        render = new Render(imageWriter, scene);
+
+        int nX = imageWriter.getNx(), nY = imageWriter.getNy();
+        rays = new Ray[(nX / GRID_STEP) * (nY / GRID_STEP)];
+        int r = 0;
+        for (int i = GRID_STEP / 2; r < rays.length && i < nY; i += GRID_STEP)
+            for (int j = GRID_STEP / 2; r < rays.length && j < nX; j += GRID_STEP)
+                rays[r++] = scene.getCamera().constructRayThroughPixel(nX, nY, j, i,
+                        scene.getDistance(), imageWriter.getWidth(), imageWriter.getHeight());
+    }
+
+    @Benchmark
+    public void calcColor(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(render.calcColor(ray));
+    }
+
+    /**
+     * scene of ShadowTests.SphereTriangleInitial
+     */
+    private static Scene sphereTriangleInitial() {
+        Scene scene = new Scene("Test scene");
+        scene.setCamera(new Camera(new Point3D(0, 0, -1000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+        scene.setDistance(1000);
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(Color.BLACK, 0));
+        scene.addGeometries(new Sphere(new Color(java.awt.Color.BLUE), new Material(0.5, 0.5, 30),
+                        60, new Point3D(0, 0, 200)),
+                new Triangle(new Color(java.awt.Color.BLUE), new Material(0.5, 0.5, 30),
+                        new Point3D(-70, 40, 0), new Point3D(-40, 70, 0), new Point3D(-68, 68, 4)));
+        scene.addLights(new SpotLight(new Color(400, 240, 0),
+                new Point3D(-100, 100, -200), new Vector(1, -1, 3), 1, 1E-5, 1.5E-7));
+        return scene;
+    }
+
+    /**
+     * scene of ReflectionRefractionTests.trianglesTransparentSphere
+     */
+    private static Scene shadowWithTransparency() {
+        Scene scene = new Scene("Test scene");
+        scene.setCamera(new Camera(new Point3D(0, 0, -1000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+        scene.setDistance(1000);
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(new Color(java.awt.Color.WHITE), 0.15));
+        scene.addGeometries(
+                new Triangle(Color.BLACK, new Material(0.5, 0.5, 60),
+                        new Point3D(-150, 150, 115), new Point3D(150, 150, 135), new Point3D(75, -75, 150)),
+                new Triangle(Color.BLACK, new Material(0.5, 0.5, 60),
+                        new Point3D(-150, 150, 115), new Point3D(-70, -70, 140), new Point3D(75, -75, 150)),
+                new Sphere(new Color(java.awt.Color.BLUE), new Material(0.2, 0.2, 30, 0.6, 0),
+                        30, new Point3D(60, -50, 50)));
+        scene.addLights(new SpotLight(new Color(700, 400, 400),
+                new Point3D(60, -50, 0), new Vector(0, 0, 1), 1, 4E-5, 2E-7));
+        return scene;
+    }
+
+    /**
+     * scene of ReflectionRefractionTests.twoSpheresOnMirrors
+     */
+    private static Scene twoSpheresMirrored() {
+        Scene scene = new Scene("Test scene");
+        scene.setCamera(new Camera(new Point3D(0, 0, -10000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+        scene.setDistance(10000);
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.addGeometries(
+                new Sphere(new Color(0, 0, 100), new Material(0.25, 0.25, 20, 0.5, 0), 400, new Point3D(-950, 900, 1000)),
+                new Sphere(new Color(100, 20, 20), new Material(0.25, 0.25, 20), 200, new Point3D(-950, 900, 1000)),
+                new Triangle(new Color(20, 20, 20), new Material(0, 0, 0, 0, 1), new Point3D(1500, 1500, 1500),
+                        new Point3D(-1500, -1500, 1500), new Point3D(670, -670, -3000)),
+                new Triangle(new Color(20, 20, 20), new Material(0, 0, 0, 0, 0.5), new Point3D(1500, 1500, 1500),
+                        new Point3D(-1500, -1500, 1500), new Point3D(-1500, 1500, 2000)));
+        scene.addLights(new SpotLight(new Color(1020, 400, 400), new Point3D(-750, 750, 150),
+                new Vector(-1, 1, 4), 1, 0.00001, 0.000005));
+        return scene;
+    }
+
+    /**
+     * run the benchmarks of this class
+     *
+     * @param args not used
+     * @throws RunnerException on JMH failure
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RenderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package elements;
+
+import primitives.Color;
+import primitives.Point3D;
+import primitives.Sampler;
+import primitives.SobolSampler;
+import primitives.Vector;
+
+/**
+ * class AreaLight - base class of the lights with a surface (soft shadows).
+ * The light is attenuated and shaded as a point light at its center, the shadow
+ * is the part of the surface that is hidden from the lighted point. The surface
+ * points for the shadow rays are given by a sampler, the rendering casts a few
+ * rays first and adds more only while they disagree (in the penumbra)
+ *
+ * @author AhronS, IsraelN
+ */
+public abstract class AreaLight extends PointLight {
+    private static final int DEFAULT_MIN_SAMPLES = 4;
+    private static final int DEFAULT_MAX_SAMPLES = 64;
+    // the axes of the surface (the sample point is center + x * axisU + y * axisV)
+    private final double _ux, _uy, _uz;
+    private final double _vx, _vy, _vz;
+    private Sampler _sampler = new SobolSampler();
+    private int _minSamples = DEFAULT_MIN_SAMPLES;
+    private int _maxSamples = DEFAULT_MAX_SAMPLES;
+
+    // ****************************** Constructors *****************************//
+
+    /**
+     * constructor of area light
+     *
+     * @param intensity intensity
+     * @param position  center of the surface
+     * @param axisU     first axis of the surface
+     * @param axisV     second axis of the surface
+     * @param kC        kc
+     * @param kL        kl
+     * @param kQ        kq
+     */
+    protected AreaLight(Color intensity, Point3D position, Vector axisU, Vector axisV, double kC, double kL, double kQ) {
+        super(intensity, position, kC, kL, kQ);
+        Point3D u = axisU.getHead(), v = axisV.getHead();
+        _ux = u.getXValue();
+        _uy = u.getYValue();
+        _uz = u.getZValue();
+        _vx = v.getXValue();
+        _vy = v.getYValue();
+        _vz = v.getZValue();
+    }
+
+    // ****************************** Getters/Setters *****************************//
+
+    /**
+     * AreaLight getter
+     *
+     * @return amount of shadow rays cast first
+     */
+    public int getMinSamples() {
+        return _minSamples;
+    }
+
+    /**
+     * AreaLight getter
+     *
+     * @return amount of shadow rays limit
+     */
+    public int getMaxSamples() {
+        return _maxSamples;
+    }
+
+    /**
+     * AreaLight setter of the shadow rays sampling
+     *
+     * @param sampler    the sampler of the surface points
+     * @param minSamples amount of shadow rays cast first (at least 2, to find a penumbra)
+     * @param maxSamples amount of shadow rays limit
+     */
+    public void setSampling(Sampler sampler, int minSamples, int maxSamples) {
+        if (sampler == null)
+            throw new IllegalArgumentException("area light needs a sampler");
+        if (minSamples < 2 || maxSamples < minSamples)
+            throw new IllegalArgumentException("area light needs 2 <= minSamples <= maxSamples");
+        _sampler = sampler;
+        _minSamples = minSamples;
+        _maxSamples = maxSamples;
+    }
+
+    // ****************************** Functions *****************************//
+
+    /**
+     * func getSamplePoint - a point of the surface for a shadow ray
+     *
+     * @param index    index of the sample
+     * @param scramble the scramble of the sampler (of the lighted point), 0 for none
+     * @return the point
+     */
+    public Point3D getSamplePoint(int index, long scramble) {
+        double[] point = new double[2];
+        _sampler.get2D(index, scramble, point);
+        mapSample(point);
+        double x = point[0], y = point[1];
+        return new Point3D(
+                _position.getXValue() + _ux * x + _vx * y,
+                _position.getYValue() + _uy * x + _vy * y,
+                _position.getZValue() + _uz * x + _vz * y);
+    }
+
+    /**
+     * map a point of the unit square to the surface coordinates (along the axes)
+     *
+     * @param point the point (u, v) in [0, 1) x [0, 1), replaced by (x, y)
+     */
+    protected abstract void mapSample(double[] point);
+}
@@ -1,11 +1,15 @@
 package elements;
 
+import primitives.HaltonSampler;
 import primitives.Point3D;
 import primitives.Ray;
+import primitives.Sampler;
 import primitives.Vector;
 
+import java.util.Iterator;
 import java.util.List;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
@@ -14,6 +18,8 @@ import static primitives.Util.isZero;
  * @author AhronS, IsraelN
  */
 public class Camera {
+    // sampler of the aperture points of constructFocalRay
+    private static final Sampler HALTON = new HaltonSampler();
     private Point3D place;
     private Vector vto;
     private Vector vup;
@@ -97,6 +103,24 @@ public class Camera {
         return vright;
     }
 
+    /**
+     * Camera getter
+     *
+     * @return the amount of rays through every pixel for the depth of field
+     */
+    public int getNumOfDOFRays() {
+        return _numOfDOFRays;
+    }
+
+    /**
+     * Camera getter
+     *
+     * @return true if the camera has depth of field (an aperture and more than one ray)
+     */
+    public boolean hasDOF() {
+        return !isZero(_apertureSize) && _numOfDOFRays > 1;
+    }
+
     // ****************************** Functions *****************************//
 
     /**
@@ -120,6 +144,39 @@ public class Camera {
         return centerRay.focalRays(_apertureSize, _numOfDOFRays, focalPoint, vup, vright);
     }
 
+    /**
+     * func raysThroughPixel - the rays of constructRaysThroughPixel, created lazily
+     * while they are iterated (no list is built)
+     *
+     * @param nX             pixels on width
+     * @param nY             pixels on height
+     * @param j              Pixel column
+     * @param i              pixel row
+     * @param screenDistance dst from view plane
+     * @param screenWidth    screen width
+     * @param screenHeight   screen height
+     * @return iterator of the rays
+     */
+    public Iterator<Ray> raysThroughPixel(int nX, int nY, int j, int i,
+                                         double screenDistance, double screenWidth, double screenHeight) {
+        return focalRays(constructRayThroughPixel(nX, nY, j, i, screenDistance, screenWidth, screenHeight));
+    }
+
+    /**
+     * func prepare - the projection of the view plane pixels, for rendering
+     * many rays (or many frames) with the same view plane
+     *
+     * @param nX             pixels on width
+     * @param nY             pixels on height
+     * @param screenDistance dst from view plane
+     * @param screenWidth    screen width
+     * @param screenHeight   screen height
+     * @return the projection
+     */
+    public Projection prepare(int nX, int nY, double screenDistance, double screenWidth, double screenHeight) {
+        return new Projection(nX, nY, screenDistance, screenWidth, screenHeight);
+    }
+
     /**
      * func constructRayThroughPixel
      *
@@ -151,4 +208,228 @@ public class Camera {
         Vector Vij = Pij.subtract(place);
         return new Ray(place, Vij.normalize());
     }
-}
\ No newline at end of file
+
+    /**
+     * func constructRayThroughPoint - ray through any point of the view plane,
+     * given in pixels units: (j, i) is the corner of pixel (j, i) and
+     * (j + 0.5, i + 0.5) is its center
+     *
+     * @param nX             pixels on width
+     * @param nY             pixels on height
+     * @param x              column position (0 to nX)
+     * @param y              row position (0 to nY)
+     * @param screenDistance dst from view plane
+     * @param screenWidth    screen width
+     * @param screenHeight   screen height
+     * @return ray
+     */
+    public Ray constructRayThroughPoint(int nX, int nY, double x, double y,
+                                        double screenDistance, double screenWidth, double screenHeight) {
+        if (isZero(screenDistance)) {
+            throw new IllegalArgumentException("distance from cam cannot be 0");
+        }
+        Point3D Pc = place.add(vto.scale(screenDistance));
+        double yi = (y - nY / 2d) * (screenHeight / nY);
+        double xj = (x - nX / 2d) * (screenWidth / nX);
+        Point3D Pxy = Pc;
+        if (!isZero(xj))
+            Pxy = Pxy.add(vright.scale(xj));
+        if (!isZero(yi))
+            Pxy = Pxy.add(vup.scale(-yi));
+        return new Ray(place, Pxy.subtract(place).normalize());
+    }
+
+    /**
+     * func constructFocalRay - one ray of the depth of field, from a point on the
+     * aperture through the focal point of the pixel. The aperture points are the
+     * Halton sequence (bases 2 and 3) from index 1 (index 0 is the aperture corner),
+     * so every prefix of the samples covers the aperture evenly and the rays can
+     * be added one by one
+     *
+     * @param centerRay the ray through the pixel center
+     * @param sample    sample index, 0 for the center ray itself
+     * @return the ray
+     */
+    public Ray constructFocalRay(Ray centerRay, int sample) {
+        if (sample == 0)
+            return centerRay;
+        double[] point = new double[2];
+        HALTON.get2D(sample, 0, point);
+        return constructFocalRay(centerRay, point);
+    }
+
+    /**
+     * func constructFocalRay - one ray of the depth of field, from a point on the
+     * aperture (given by a sampler) through the focal point of the pixel.
+     * The center ray comes first, so sample k &gt; 0 takes the sampler point k - 1:
+     * the aperture points are a prefix of the sampler sequence from its first
+     * point (for Sobol a power of 2 points is stratified)
+     *
+     * @param centerRay the ray through the pixel center
+     * @param sample    sample index, 0 for the center ray itself
+     * @param sampler   the sampler of the aperture points
+     * @param scramble  the scramble of the sampler (of the pixel), 0 for none
+     * @return the ray
+     */
+    public Ray constructFocalRay(Ray centerRay, int sample, Sampler sampler, long scramble) {
+        if (sample == 0)
+            return centerRay;
+        double[] point = new double[2];
+        sampler.get2D(sample - 1, scramble, point);
+        return constructFocalRay(centerRay, point);
+    }
+
+    /**
+     * the depth of field ray from a point on the aperture through the focal point of the pixel
+     *
+     * @param centerRay the ray through the pixel center
+     * @param point     the aperture point in the unit square
+     * @return the ray
+     */
+    private Ray constructFocalRay(Ray centerRay, double[] point) {
+        double focalFullDist = Math.sqrt((_distDOF) * (_distDOF) + _apertureSize * _apertureSize);
+        Point3D focalPoint = centerRay.getPoint(focalFullDist);
+        double x = (point[0] - 0.5) * _apertureSize;
+        double y = (point[1] - 0.5) * _apertureSize;
+        Point3D aperturePoint = centerRay.getP0();
+        if (!isZero(x))
+            aperturePoint = aperturePoint.add(vright.scale(x));
+        if (!isZero(y))
+            aperturePoint = aperturePoint.add(vup.scale(y));
+        return new Ray(aperturePoint, focalPoint.subtract(aperturePoint));
+    }
+
+    /**
+     * the depth of field rays through the focal point of a pixel, created lazily
+     *
+     * @param centerRay the ray through the pixel center
+     * @return iterator of the rays (the center ray first)
+     */
+    private Iterator<Ray> focalRays(Ray centerRay) {
+        double focalFullDist = Math.sqrt((_distDOF) * (_distDOF) + _apertureSize * _apertureSize);
+        Point3D focalPoint = centerRay.getPoint(focalFullDist);
+        return centerRay.focalRaysIterator(_apertureSize, _numOfDOFRays, focalPoint, vup, vright);
+    }
+
+    /**
+     * class Projection - the view plane of the camera prepared for a fixed
+     * resolution and size. The points of the pixels columns (on the row of the
+     * view plane center) and the up offsets of the pixels rows are computed once,
+     * so the ray through a pixel center costs two additions and a normalization.
+     * The projection does not change with the camera, a new one must be prepared
+     * when the camera or the view plane change (see isFor)
+     */
+    public class Projection {
+        private final int _nX;
+        private final int _nY;
+        private final double _distance;
+        private final double _width;
+        private final double _height;
+        // (x, y, z) of every column point and of every row offset
+        private final double[] _columns;
+        private final double[] _rows;
+
+        /**
+         * constructor of the projection (see Camera.prepare)
+         *
+         * @param nX             pixels on width
+         * @param nY             pixels on height
+         * @param screenDistance dst from view plane
+         * @param screenWidth    screen width
+         * @param screenHeight   screen height
+         */
+        private Projection(int nX, int nY, double screenDistance, double screenWidth, double screenHeight) {
+            if (isZero(screenDistance))
+                throw new IllegalArgumentException("distance from cam cannot be 0");
+            if (nX <= 0 || nY <= 0)
+                throw new IllegalArgumentException("view plane must have pixels");
+            _nX = nX;
+            _nY = nY;
+            _distance = screenDistance;
+            _width = screenWidth;
+            _height = screenHeight;
+            // pixel of image center
+            Point3D Pc = place.add(vto.scale(screenDistance));
+            double pcX = Pc.getXValue(), pcY = Pc.getYValue(), pcZ = Pc.getZValue();
+            double rightX = vright.getXValue(), rightY = vright.getYValue(), rightZ = vright.getZValue();
+            double Rx = screenWidth / nX;
+            _columns = new double[3 * nX];
+            for (int j = 0; j < nX; ++j) {
+                double xj = ((j - nX / 2d) * Rx + Rx / 2d);
+                if (isZero(xj)) {
+                    _columns[3 * j] = pcX;
+                    _columns[3 * j + 1] = pcY;
+                    _columns[3 * j + 2] = pcZ;
+                } else {
+                    _columns[3 * j] = pcX + rightX * xj;
+                    _columns[3 * j + 1] = pcY + rightY * xj;
+                    _columns[3 * j + 2] = pcZ + rightZ * xj;
+                }
+            }
+            double upX = vup.getXValue(), upY = vup.getYValue(), upZ = vup.getZValue();
+            double Ry = screenHeight / nY;
+            _rows = new double[3 * nY];
+            for (int i = 0; i < nY; ++i) {
+                double yi = ((i - nY / 2d) * Ry + Ry / 2d);
+                if (!isZero(yi)) {
+                    _rows[3 * i] = upX * -yi;
+                    _rows[3 * i + 1] = upY * -yi;
+                    _rows[3 * i + 2] = upZ * -yi;
+                }
+            }
+        }
+
+        /**
+         * Projection getter
+         *
+         * @return the camera of the projection
+         */
+        public Camera getCamera() {
+            return Camera.this;
+        }
+
+        /**
+         * check if the projection is the one of a camera and a view plane
+         *
+         * @param camera         the camera
+         * @param nX             pixels on width
+         * @param nY             pixels on height
+         * @param screenDistance dst from view plane
+         * @param screenWidth    screen width
+         * @param screenHeight   screen height
+         * @return true if the projection can be used for them
+         */
+        public boolean isFor(Camera camera, int nX, int nY,
+                             double screenDistance, double screenWidth, double screenHeight) {
+            return camera == Camera.this && nX == _nX && nY == _nY
+                    && screenDistance == _distance && screenWidth == _width && screenHeight == _height;
+        }
+
+        /**
+         * func constructRay - the same ray as constructRayThroughPixel
+         *
+         * @param j Pixel column
+         * @param i pixel row
+         * @return ray
+         */
+        public Ray constructRay(int j, int i) {
+            int column = 3 * j, row = 3 * i;
+            Vector Vij = new Vector(
+                    alignZero(_columns[column] + _rows[row]) - place.getXValue(),
+                    alignZero(_columns[column + 1] + _rows[row + 1]) - place.getYValue(),
+                    alignZero(_columns[column + 2] + _rows[row + 2]) - place.getZValue());
+            return new Ray(place, Vij.normalize());
+        }
+
+        /**
+         * func raysThroughPixel - the same rays as Camera.raysThroughPixel
+         *
+         * @param j Pixel column
+         * @param i pixel row
+         * @return iterator of the rays
+         */
+        public Iterator<Ray> raysThroughPixel(int j, int i) {
+            return focalRays(constructRay(j, i));
+        }
+    }
+}
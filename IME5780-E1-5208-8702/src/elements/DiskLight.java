@@ -0,0 +1,89 @@
+package elements;
+
+import primitives.Color;
+import primitives.Point3D;
+import primitives.Vector;
+
+import static primitives.Util.isZero;
+
+/**
+ * class DiskLight - area light of a disk
+ *
+ * @author AhronS, IsraelN
+ */
+public class DiskLight extends AreaLight {
+
+    // ****************************** Constructors *****************************//
+
+    /**
+     * constructor of disk light
+     *
+     * @param intensity intensity
+     * @param position  center of the disk
+     * @param normal    normal to the disk
+     * @param radius    radius of the disk
+     * @param kC        kc
+     * @param kL        kl
+     * @param kQ        kq
+     */
+    public DiskLight(Color intensity, Point3D position, Vector normal, double radius, double kC, double kL, double kQ) {
+        this(intensity, position, normal, axis(normal, radius), radius, kC, kL, kQ);
+    }
+
+    /**
+     * constructor of disk light with its first axis
+     *
+     * @param intensity intensity
+     * @param position  center of the disk
+     * @param normal    normal to the disk
+     * @param axis      first axis of the disk (radius length)
+     * @param radius    radius of the disk
+     * @param kC        kc
+     * @param kL        kl
+     * @param kQ        kq
+     */
+    private DiskLight(Color intensity, Point3D position, Vector normal, Vector axis, double radius,
+                      double kC, double kL, double kQ) {
+        super(intensity, position, axis, normal.crossProduct(axis).normalize().scale(radius), kC, kL, kQ);
+    }
+
+    /**
+     * an axis on the disk plane
+     *
+     * @param normal normal to the disk
+     * @param radius radius of the disk
+     * @return vector orthogonal to the normal of the radius length
+     */
+    private static Vector axis(Vector normal, double radius) {
+        if (radius <= 0 || isZero(radius))
+            throw new IllegalArgumentException("disk radius must be positive");
+        Vector n = normal.normalized();
+        Vector other = Math.abs(n.getHead().getXValue()) < 0.9 ? new Vector(1, 0, 0) : new Vector(0, 1, 0);
+        return n.crossProduct(other).normalize().scale(radius);
+    }
+
+    // ****************************** Overrides *****************************//
+
+    /**
+     * concentric mapping of the square to the disk, which keeps the samples distribution
+     */
+    @Override
+    protected void mapSample(double[] point) {
+        double a = 2 * point[0] - 1, b = 2 * point[1] - 1;
+        if (a == 0 && b == 0) {
+            point[0] = 0;
+            point[1] = 0;
+            return;
+        }
+        double r, phi;
+        if (Math.abs(a) > Math.abs(b)) {
+            r = a;
+            phi = Math.PI / 4 * (b / a);
+        } else {
+            r = b;
+            phi = Math.PI / 2 - Math.PI / 4 * (a / b);
+        }
+        point[0] = r * Math.cos(phi);
+        point[1] = r * Math.sin(phi);
+    }
+}
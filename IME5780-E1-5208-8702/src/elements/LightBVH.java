@@ -0,0 +1,331 @@
+package elements;
+
+import primitives.Point3D;
+import primitives.Vector;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * class LightBVH - bounding volume hierarchy over the positioned lights (point
+ * and spot lights, area lights by their centers) of a scene. Every node bounds
+ * its lights positions by a box and keeps their total intensity, their weakest
+ * attenuation factors and a cone of their spot directions, so the intensity of
+ * all the lights of a node at a point is bounded by one test. A query collects
+ * the lights whose bound is above a cutoff, the whole sub tree of a node below
+ * it is skipped (the cost grows with the lights that matter, not with all the
+ * lights). Lights without a position (directional lights) are always collected.
+ * The lights are collected in the scene order, so the shading sums them in the
+ * same order as without the hierarchy (the same colors, to the last bit).
+ * The tree is kept in flat arrays (node i has its first child at i + 1)
+ *
+ * @author AhronS, IsraelN
+ */
+public class LightBVH {
+    // the lights in the scene order
+    private final LightSource[] _sceneLights;
+    // scene indices of the lights without a position, always collected
+    private final int[] _globalIndex;
+    // the positioned lights in the leaves order, and their scene indices
+    private final PointLight[] _lights;
+    private final int[] _sceneIndex;
+    // positions of the lights (3 values per light)
+    private final double[] _positions;
+    // node boxes (6 values per node: min x,y,z and max x,y,z)
+    private final double[] _bounds;
+    // sum of the strongest color components of the node lights
+    private final double[] _power;
+    // the smallest attenuation factors of the node lights
+    private final double[] _kC, _kL, _kQ;
+    // cone of the node lights directions: axis (3 values per node) and half angle
+    // (PI - no direction bound, there is a point light in the node)
+    private final double[] _axis;
+    private final double[] _coneAngle;
+    // cosine and sine of the cones half angles
+    private final double[] _coneCos, _coneSin;
+    // inner node: index of the second child, leaf: -1 - index of its light
+    private final int[] _next;
+    private int _nodeCount;
+    // the depth of the tree (for the query stack size)
+    private int _depth;
+
+    // ****************************** Constructors *****************************//
+
+    /**
+     * constructor - builds the hierarchy
+     *
+     * @param lights the lights of the scene
+     */
+    public LightBVH(List<LightSource> lights) {
+        _sceneLights = lights.toArray(new LightSource[0]);
+        int positioned = 0;
+        for (LightSource light : _sceneLights)
+            if (light instanceof PointLight)
+                ++positioned;
+        _lights = new PointLight[positioned];
+        _sceneIndex = new int[positioned];
+        _globalIndex = new int[_sceneLights.length - positioned];
+        for (int i = 0, p = 0, g = 0; i < _sceneLights.length; ++i)
+            if (_sceneLights[i] instanceof PointLight) {
+                _sceneIndex[p] = i;
+                _lights[p++] = (PointLight) _sceneLights[i];
+            } else
+                _globalIndex[g++] = i;
+        _positions = new double[3 * _lights.length];
+        for (int l = 0; l < _lights.length; ++l) {
+            Point3D position = _lights[l]._position;
+            _positions[3 * l] = position.getXValue();
+            _positions[3 * l + 1] = position.getYValue();
+            _positions[3 * l + 2] = position.getZValue();
+        }
+        int nodes = Math.max(1, 2 * _lights.length - 1);
+        _bounds = new double[6 * nodes];
+        _power = new double[nodes];
+        _kC = new double[nodes];
+        _kL = new double[nodes];
+        _kQ = new double[nodes];
+        _axis = new double[3 * nodes];
+        _coneAngle = new double[nodes];
+        _coneCos = new double[nodes];
+        _coneSin = new double[nodes];
+        _next = new int[nodes];
+        if (_lights.length > 0)
+            build(0, _lights.length, 1);
+        for (int node = 0; node < _nodeCount; ++node) {
+            _coneCos[node] = Math.cos(_coneAngle[node]);
+            _coneSin[node] = Math.sin(_coneAngle[node]);
+        }
+    }
+
+    // ****************************** Getters *****************************//
+
+    /**
+     * LightBVH getter
+     *
+     * @return amount of lights in the hierarchy
+     */
+    public int size() {
+        return _sceneLights.length;
+    }
+
+    // ****************************** Functions *****************************//
+
+    /**
+     * func findLights - collect the lights that may light a point with an
+     * intensity (strongest color component) above the cutoff, in the scene order
+     *
+     * @param point  the lighted point
+     * @param cutoff the intensity under which the lights are skipped (0 - only the lights that can not reach the point)
+     * @param result list for the lights (added to its end)
+     */
+    public void findLights(Point3D point, double cutoff, List<LightSource> result) {
+        double x = point.getXValue(), y = point.getYValue(), z = point.getZValue();
+        // scene indices of the found lights
+        int[] found = Arrays.copyOf(_globalIndex, _globalIndex.length + 8);
+        int count = _globalIndex.length;
+        if (_lights.length > 0) {
+            int[] stack = new int[_depth + 1];
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int node = stack[--top];
+                if (!canLight(node, x, y, z, cutoff))
+                    continue;
+                int next = _next[node];
+                if (next < 0) {
+                    if (count == found.length)
+                        found = Arrays.copyOf(found, 2 * count);
+                    found[count++] = _sceneIndex[-1 - next];
+                } else {
+                    stack[top++] = next;
+                    stack[top++] = node + 1;
+                }
+            }
+        }
+        // the leaves are in the median split order - back to the scene order
+        Arrays.sort(found, 0, count);
+        for (int i = 0; i < count; ++i)
+            result.add(_sceneLights[found[i]]);
+    }
+
+    /**
+     * check if the intensity bound of the node lights at a point is above the cutoff
+     */
+    private boolean canLight(int node, double x, double y, double z, double cutoff) {
+        int b = 6 * node;
+        double minX = _bounds[b], minY = _bounds[b + 1], minZ = _bounds[b + 2];
+        double maxX = _bounds[b + 3], maxY = _bounds[b + 4], maxZ = _bounds[b + 5];
+        // the point must be in front of (at least) one of the spots
+        if (_coneAngle[node] < Math.PI) {
+            double cx = (minX + maxX) / 2, cy = (minY + maxY) / 2, cz = (minZ + maxZ) / 2;
+            double dx = x - cx, dy = y - cy, dz = z - cz;
+            double dSquared = dx * dx + dy * dy + dz * dz;
+            double rx = maxX - cx, ry = maxY - cy, rz = maxZ - cz;
+            double rSquared = rx * rx + ry * ry + rz * rz;
+            if (dSquared > rSquared) {
+                // the point direction angle from the axis, minus the cone and the box angle (seen from
+                // the point), must be below PI/2: cos(angle) > cos(PI/2 + cone + box) = -sin(cone + box)
+                double d = Math.sqrt(dSquared);
+                int a = 3 * node;
+                double cos = (dx * _axis[a] + dy * _axis[a + 1] + dz * _axis[a + 2]) / d;
+                double boxSin = Math.sqrt(rSquared) / d, boxCos = Math.sqrt(1 - boxSin * boxSin);
+                double coneCos = _coneCos[node], coneSin = _coneSin[node];
+                if (coneCos * boxCos - coneSin * boxSin > 0 && cos <= -(coneSin * boxCos + coneCos * boxSin))
+                    return false;
+            }
+        }
+        double dx = Math.max(0, Math.max(minX - x, x - maxX));
+        double dy = Math.max(0, Math.max(minY - y, y - maxY));
+        double dz = Math.max(0, Math.max(minZ - z, z - maxZ));
+        double dSquared = dx * dx + dy * dy + dz * dz;
+        double attenuation = _kC[node] + _kL[node] * Math.sqrt(dSquared) + _kQ[node] * dSquared;
+        // a light is never amplified (Color.reduce)
+        return _power[node] / Math.max(1, attenuation) > cutoff;
+    }
+
+    /**
+     * build the sub tree of the lights [start, end), split at the median of the
+     * largest extent of the positions
+     *
+     * @return the index of the sub tree root
+     */
+    private int build(int start, int end, int depth) {
+        int node = _nodeCount++;
+        if (depth > _depth)
+            _depth = depth;
+        if (end - start == 1) {
+            makeLeaf(node, start);
+            return node;
+        }
+        double[] bounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (int l = start; l < end; ++l)
+            for (int c = 0; c < 3; ++c) {
+                bounds[c] = Math.min(bounds[c], _positions[3 * l + c]);
+                bounds[c + 3] = Math.max(bounds[c + 3], _positions[3 * l + c]);
+            }
+        int axis = 0;
+        for (int c = 1; c < 3; ++c)
+            if (bounds[c + 3] - bounds[c] > bounds[axis + 3] - bounds[axis])
+                axis = c;
+        int mid = (start + end) / 2;
+        select(start, end, mid, axis);
+        int first = build(start, mid, depth + 1);
+        int second = build(mid, end, depth + 1);
+        _next[node] = second;
+        merge(node, first, second);
+        return node;
+    }
+
+    /**
+     * node of one light
+     */
+    private void makeLeaf(int node, int light) {
+        PointLight pointLight = _lights[light];
+        System.arraycopy(_positions, 3 * light, _bounds, 6 * node, 3);
+        System.arraycopy(_positions, 3 * light, _bounds, 6 * node + 3, 3);
+        _power[node] = pointLight.getIntensity().getMax();
+        _kC[node] = pointLight._kC;
+        _kL[node] = pointLight._kL;
+        _kQ[node] = pointLight._kQ;
+        Vector coneAxis = pointLight.getConeAxis();
+        if (coneAxis != null) {
+            Point3D direction = coneAxis.getHead();
+            _axis[3 * node] = direction.getXValue();
+            _axis[3 * node + 1] = direction.getYValue();
+            _axis[3 * node + 2] = direction.getZValue();
+            _coneAngle[node] = 0;
+        } else
+            _coneAngle[node] = Math.PI;
+        _next[node] = -1 - light;
+    }
+
+    /**
+     * node of two sub trees
+     */
+    private void merge(int node, int first, int second) {
+        for (int c = 0; c < 3; ++c) {
+            _bounds[6 * node + c] = Math.min(_bounds[6 * first + c], _bounds[6 * second + c]);
+            _bounds[6 * node + c + 3] = Math.max(_bounds[6 * first + c + 3], _bounds[6 * second + c + 3]);
+        }
+        _power[node] = _power[first] + _power[second];
+        _kC[node] = Math.min(_kC[first], _kC[second]);
+        _kL[node] = Math.min(_kL[first], _kL[second]);
+        _kQ[node] = Math.min(_kQ[first], _kQ[second]);
+        mergeCones(node, first, second);
+    }
+
+    /**
+     * the smallest cone (of the simple ones) that holds the cones of two nodes
+     */
+    private void mergeCones(int node, int first, int second) {
+        if (_coneAngle[first] < _coneAngle[second]) {
+            int swap = first;
+            first = second;
+            second = swap;
+        }
+        double angle1 = _coneAngle[first], angle2 = _coneAngle[second];
+        int a = 3 * node, a1 = 3 * first, a2 = 3 * second;
+        _coneAngle[node] = Math.PI;
+        if (angle1 >= Math.PI)
+            return;
+        double cos = _axis[a1] * _axis[a2] + _axis[a1 + 1] * _axis[a2 + 1] + _axis[a1 + 2] * _axis[a2 + 2];
+        double between = Math.acos(Math.max(-1, Math.min(1, cos)));
+        if (between + angle2 <= angle1) {
+            System.arraycopy(_axis, a1, _axis, a, 3);
+            _coneAngle[node] = angle1;
+            return;
+        }
+        double angle = (angle1 + between + angle2) / 2;
+        if (angle >= Math.PI)
+            return;
+        // rotate the first axis towards the second one
+        double wx = _axis[a2] - cos * _axis[a1], wy = _axis[a2 + 1] - cos * _axis[a1 + 1], wz = _axis[a2 + 2] - cos * _axis[a1 + 2];
+        double wLength = Math.sqrt(wx * wx + wy * wy + wz * wz);
+        if (wLength == 0)
+            return;
+        double rotation = angle - angle1, c = Math.cos(rotation), s = Math.sin(rotation) / wLength;
+        _axis[a] = _axis[a1] * c + wx * s;
+        _axis[a + 1] = _axis[a1 + 1] * c + wy * s;
+        _axis[a + 2] = _axis[a1 + 2] * c + wz * s;
+        _coneAngle[node] = angle;
+    }
+
+    /**
+     * partial sort of the lights [start, end) by a coordinate, so the light at
+     * index mid is in its place (quick select)
+     */
+    private void select(int start, int end, int mid, int axis) {
+        int left = start, right = end - 1;
+        while (left < right) {
+            double pivot = _positions[3 * ((left + right) >>> 1) + axis];
+            int i = left, j = right;
+            while (i <= j) {
+                while (_positions[3 * i + axis] < pivot) ++i;
+                while (_positions[3 * j + axis] > pivot) --j;
+                if (i <= j)
+                    swap(i++, j--);
+            }
+            if (mid <= j) right = j;
+            else if (mid >= i) left = i;
+            else return;
+        }
+    }
+
+    /**
+     * swap two lights (and their positions and scene indices)
+     */
+    private void swap(int i, int j) {
+        PointLight light = _lights[i];
+        _lights[i] = _lights[j];
+        _lights[j] = light;
+        int index = _sceneIndex[i];
+        _sceneIndex[i] = _sceneIndex[j];
+        _sceneIndex[j] = index;
+        for (int c = 0; c < 3; ++c) {
+            double value = _positions[3 * i + c];
+            _positions[3 * i + c] = _positions[3 * j + c];
+            _positions[3 * j + c] = value;
+        }
+    }
+}
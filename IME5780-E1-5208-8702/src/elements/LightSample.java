@@ -0,0 +1,62 @@
+package elements;
+
+import primitives.Color;
+import primitives.Vector;
+
+/**
+ * class LightSample - the light of a source at a point: the light vector, the
+ * distance and the attenuated intensity, filled by one query (see
+ * LightSource.sample). A holder is reused for all the lights of a thread, so
+ * its values are valid only until the next query
+ *
+ * @author AhronS, IsraelN
+ */
+public final class LightSample {
+    private Vector _l;
+    private double _distance;
+    private Color _intensity;
+
+    // ****************************** Getters *****************************//
+
+    /**
+     * LightSample getter
+     *
+     * @return the light vector (from the light to the point)
+     */
+    public Vector getL() {
+        return _l;
+    }
+
+    /**
+     * LightSample getter
+     *
+     * @return the distance from the point to the light
+     */
+    public double getDistance() {
+        return _distance;
+    }
+
+    /**
+     * LightSample getter
+     *
+     * @return the intensity of the light at the point
+     */
+    public Color getIntensity() {
+        return _intensity;
+    }
+
+    // ****************************** Functions *****************************//
+
+    /**
+     * fill the sample
+     *
+     * @param l         the light vector (from the light to the point)
+     * @param distance  the distance from the point to the light
+     * @param intensity the intensity of the light at the point
+     */
+    public void set(Vector l, double distance, Color intensity) {
+        _l = l;
+        _distance = distance;
+        _intensity = intensity;
+    }
+}
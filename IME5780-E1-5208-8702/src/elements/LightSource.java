@@ -34,5 +34,28 @@ public interface LightSource {
      */
     public Vector getL(Point3D p);
 
+    /**
+     * check if the light may light a point with an intensity (strongest color
+     * component) above a cutoff - a conservative test, done before any shadow ray
+     *
+     * @param p      point
+     * @param cutoff the intensity cutoff (0 - any intensity)
+     * @return false if the light surely does not light the point above the cutoff
+     */
+    default boolean canLight(Point3D p, double cutoff) {
+        return true;
+    }
+
+    /**
+     * the light vector, the distance and the intensity at a point in one query
+     * (the same values as getL, getDistance and getIntensity)
+     * p can not be equals to _position
+     *
+     * @param p      point
+     * @param sample holder for the values (overwritten)
+     */
+    default void sample(Point3D p, LightSample sample) {
+        sample.set(getL(p), getDistance(p), getIntensity(p));
+    }
 
 }
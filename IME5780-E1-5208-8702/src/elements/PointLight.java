@@ -10,6 +10,8 @@ import primitives.Vector;
 public class PointLight extends Light implements LightSource {
     protected Point3D _position;
     protected double _kC, _kL, _kQ;
+    // the influence radius of the last cutoff (replaced as a whole, safe for the rendering threads)
+    private Influence _influence;
 
     // ****************************** Constructors *****************************//
 
@@ -43,6 +45,79 @@ public class PointLight extends Light implements LightSource {
         this(intensity, position , 1d, 0d, 0d);
     }
 
+    // ****************************** Getters *****************************//
+
+    /**
+     * PointLight getter
+     *
+     * @return the position of the light
+     */
+    public Point3D getPosition() {
+        return _position;
+    }
+
+    // ****************************** Functions *****************************//
+
+    /**
+     * func getInfluenceRadius - the distance beyond which the attenuated intensity
+     * (strongest color component) of the light is below the cutoff
+     *
+     * @param cutoff the intensity cutoff
+     * @return the radius (0 if the light is never above the cutoff, infinity if it is never below it)
+     */
+    public double getInfluenceRadius(double cutoff) {
+        double power = _intensity.getMax();
+        if (cutoff <= 0)
+            return Double.POSITIVE_INFINITY;
+        // a light is never amplified (Color.reduce), so it is under the cutoff everywhere
+        if (power <= cutoff)
+            return 0;
+        // solve kC + kL * d + kQ * d^2 = power / cutoff
+        double c = _kC - power / cutoff;
+        if (c >= 0)
+            return 0;
+        if (_kQ > 0)
+            return (-_kL + Math.sqrt(_kL * _kL - 4 * _kQ * c)) / (2 * _kQ);
+        if (_kL > 0)
+            return -c / _kL;
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * check if a point is in the influence radius of a cutoff
+     *
+     * @param p      point
+     * @param cutoff the intensity cutoff
+     * @return true if the point is in the radius
+     */
+    protected boolean inInfluence(Point3D p, double cutoff) {
+        Influence influence = _influence;
+        if (influence == null || influence._cutoff != cutoff)
+            _influence = influence = new Influence(cutoff, getInfluenceRadius(cutoff));
+        return p.distanceSquared(_position) <= influence._radiusSquared;
+    }
+
+    /**
+     * the axis of the cone out of which the light is dark (the half space in front of a spot)
+     *
+     * @return the axis, null if the light is not bounded by a cone
+     */
+    Vector getConeAxis() {
+        return null;
+    }
+
+    /**
+     * the intensity at a point of known light vector and distance (see sample)
+     *
+     * @param l        the light vector (from the light to the point)
+     * @param d        the distance from the light
+     * @param dSquared the distance squared
+     * @return color
+     */
+    protected Color getIntensity(Vector l, double d, double dSquared) {
+        return _intensity.reduce(_kC + _kL * d + _kQ * dSquared);
+    }
+
     // ****************************** Overrides *****************************//
 
     @Override
@@ -61,4 +136,40 @@ public class PointLight extends Light implements LightSource {
     public Vector getL(Point3D p) {
         return p.subtract(_position).normalize();
     }
+
+    @Override
+    public boolean canLight(Point3D p, double cutoff) {
+        return inInfluence(p, cutoff);
+    }
+
+    @Override
+    public void sample(Point3D p, LightSample sample) {
+        // one subtraction for the light vector and the distance
+        double dx = p.getXValue() - _position.getXValue();
+        double dy = p.getYValue() - _position.getYValue();
+        double dz = p.getZValue() - _position.getZValue();
+        double dSqr = dx * dx + dy * dy + dz * dz;
+        double d = Math.sqrt(dSqr);
+        Vector l = new Vector(dx, dy, dz).normalize();
+        sample.set(l, d, getIntensity(l, d, dSqr));
+    }
+
+    /**
+     * class Influence - a cutoff and its influence radius (squared)
+     */
+    private static final class Influence {
+        private final double _cutoff;
+        private final double _radiusSquared;
+
+        /**
+         * Influence constructor
+         *
+         * @param cutoff the cutoff
+         * @param radius the influence radius of the cutoff
+         */
+        private Influence(double cutoff, double radius) {
+            _cutoff = cutoff;
+            _radiusSquared = radius * radius;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package elements;
+
+import primitives.Color;
+import primitives.Point3D;
+import primitives.Vector;
+
+import static primitives.Util.isZero;
+
+/**
+ * class RectangleLight - area light of a rectangle
+ *
+ * @author AhronS, IsraelN
+ */
+public class RectangleLight extends AreaLight {
+
+    // ****************************** Constructors *****************************//
+
+    /**
+     * constructor of rectangle light
+     *
+     * @param intensity intensity
+     * @param position  center of the rectangle
+     * @param width     edge of the rectangle (its direction and length)
+     * @param height    the other edge of the rectangle, orthogonal to width
+     * @param kC        kc
+     * @param kL        kl
+     * @param kQ        kq
+     */
+    public RectangleLight(Color intensity, Point3D position, Vector width, Vector height, double kC, double kL, double kQ) {
+        super(intensity, position, width, height, kC, kL, kQ);
+        if (!isZero(width.dotProduct(height)))
+            throw new IllegalArgumentException("rectangle edges must be orthogonal");
+    }
+
+    // ****************************** Overrides *****************************//
+
+    @Override
+    protected void mapSample(double[] point) {
+        point[0] -= 0.5;
+        point[1] -= 0.5;
+    }
+}
@@ -50,6 +50,21 @@ public class SpotLight extends PointLight {
 
     // ****************************** Overrides *****************************//
 
+    @Override
+    Vector getConeAxis() {
+        return _direction;
+    }
+
+    @Override
+    public boolean canLight(Point3D p, double cutoff) {
+        // a point behind the spot is not lighted (see getIntensity)
+        Point3D direction = _direction.getHead();
+        double dot = (p.getXValue() - _position.getXValue()) * direction.getXValue()
+                + (p.getYValue() - _position.getYValue()) * direction.getYValue()
+                + (p.getZValue() - _position.getZValue()) * direction.getZValue();
+        return dot > 0 && inInfluence(p, cutoff);
+    }
+
     @Override
     public Color getIntensity(Point3D p) {
         Vector projection = getL(p);
@@ -60,4 +75,12 @@ public class SpotLight extends PointLight {
             return Color.BLACK;
         return super.getIntensity(p).scale(cos);
     }
+
+    @Override
+    protected Color getIntensity(Vector l, double d, double dSquared) {
+        double cos = alignZero(l.dotProduct(_direction));
+        if (cos <= 0)
+            return Color.BLACK;
+        return super.getIntensity(l, d, dSquared).scale(cos);
+    }
 }
\ No newline at end of file
@@ -23,6 +23,17 @@ public class SpotLightImproved extends SpotLight {
         super(colorIntensity, position, direction, kC, kL, kQ,_concentration);
     }
 
+    @Override
+    Vector getConeAxis() {
+        return null;
+    }
+
+    @Override
+    public boolean canLight(Point3D p, double cutoff) {
+        // an even concentration lights behind the spot as well - no cone test (see getConeAxis)
+        return inInfluence(p, cutoff);
+    }
+
     @Override
     public Color getIntensity(Point3D p) {
         double dSquared = p.distanceSquared(_position);
@@ -35,4 +46,10 @@ public class SpotLightImproved extends SpotLight {
         return (_intensity.scale(Math.max(0,Math.pow(_direction.dotProduct(vector),_concentration)))
                 .reduce(_kC + _kL * d + _kQ * dSquared));
     }
+
+    @Override
+    protected Color getIntensity(Vector l, double d, double dSquared) {
+        return (_intensity.scale(Math.max(0, Math.pow(_direction.dotProduct(l), _concentration)))
+                .reduce(_kC + _kL * d + _kQ * dSquared));
+    }
 }
\ No newline at end of file
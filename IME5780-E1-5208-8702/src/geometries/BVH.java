@@ -0,0 +1,426 @@
+package geometries;
+
+import primitives.Point3D;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Arrays;
+
+/**
+ * class BVH - bounding volume hierarchy over a set of bounding boxes,
+ * built by the surface area heuristic (SAH) with binned splits.
+ * The tree is kept in flat arrays (node i has its first child at i + 1),
+ * the owner of the primitives visits them by the leaves of the traversal.
+ * The node boxes are kept in float values, rounded outwards, so a node takes
+ * 29 bytes (24 of the box, 4 of the offset and 1 of the count)
+ *
+ * @author AhronS, IsraelN
+ */
+final class BVH {
+    private static final int BINS = 12;
+    private static final int MAX_LEAF_SIZE = 4;
+    /**
+     * cost of visiting a node relative to one primitive intersection test
+     */
+    private static final double TRAVERSAL_COST = 0.5;
+    /**
+     * relative padding of the boxes, keeps flat boxes (a triangle on an axis plane)
+     * safe from rounding errors of the slab test
+     */
+    private static final double PADDING = 1e-9;
+    /**
+     * value returned by a leaf visitor to stop the traversal
+     */
+    static final double STOP = -1;
+
+    /**
+     * Node boxes (6 values per node: min x,y,z and max x,y,z), offsets, counts and
+     * primitives order - intentionally "package-friendly" due to performance constraints
+     */
+    float[] _bounds;
+    /**
+     * leaf: first index into _order, inner node: index of the second child
+     */
+    int[] _offset;
+    /**
+     * leaf: amount of primitives (up to MAX_LEAF_SIZE), inner node: 0
+     */
+    byte[] _count;
+    /**
+     * primitive indices ordered so that every leaf holds a continuous range
+     */
+    final int[] _order;
+    /**
+     * the depth of the tree (for traversal stack size)
+     */
+    int _depth;
+    int _nodeCount;
+
+    private double _padding;
+
+    // ****************************** Constructors *****************************/
+
+    /**
+     * BVH constructor - builds the tree over the primitives boxes
+     *
+     * @param boxes the bounding box of every primitive (by primitive index)
+     */
+    BVH(BoundingBox[] boxes) {
+        this(toBounds(boxes));
+    }
+
+    /**
+     * BVH constructor - builds the tree over the primitives boxes given as raw values
+     *
+     * @param boxes 6 values for every primitive (by primitive index): min x,y,z and max x,y,z
+     */
+    BVH(double[] boxes) {
+        int n = boxes.length / 6;
+        int maxNodes = Math.max(1, 2 * n - 1);
+        _bounds = new float[6 * maxNodes];
+        _offset = new int[maxNodes];
+        _count = new byte[maxNodes];
+        _order = new int[n];
+        if (n == 0)
+            return;
+
+        double[] centroids = new double[3 * n];
+        double scale = 1;
+        for (int i = 0; i < n; ++i) {
+            _order[i] = i;
+            for (int axis = 0; axis < 3; ++axis) {
+                double min = boxes[6 * i + axis], max = boxes[6 * i + axis + 3];
+                centroids[3 * i + axis] = (min + max) / 2;
+                scale = Math.max(scale, Math.max(Math.abs(min), Math.abs(max)));
+            }
+        }
+        _padding = PADDING * scale;
+        build(boxes, centroids, 0, n, 1);
+
+        // leaves usually hold more than one primitive - drop the unused nodes
+        _bounds = Arrays.copyOf(_bounds, 6 * _nodeCount);
+        _offset = Arrays.copyOf(_offset, _nodeCount);
+        _count = Arrays.copyOf(_count, _nodeCount);
+    }
+
+    /**
+     * interface LeafVisitor - the primitives test of the leaves in a traversal
+     */
+    interface LeafVisitor {
+        /**
+         * visit the primitives of one leaf
+         *
+         * @param start       first index into _order
+         * @param end         index after the last into _order
+         * @param maxDistance max of the dist
+         * @return the new max of the dist (a closest hit shrinks it), or STOP to end the traversal
+         */
+        double visit(int start, int end, double maxDistance);
+    }
+
+    // ****************************** Functions *****************************/
+
+    /**
+     * walk the leaves that the ray enters within max distance, the nearer child first
+     *
+     * @param ray         ray
+     * @param maxDistance max of the dist
+     * @param visitor     the primitives test of a leaf
+     * @return the max of the dist at the end, or STOP if the visitor stopped the traversal
+     */
+    double traverse(Ray ray, double maxDistance, LeafVisitor visitor) {
+        if (_nodeCount == 0)
+            return maxDistance;
+        Point3D p0 = ray.getP0();
+        Vector v = ray.getDir();
+        double ox = p0.getXValue(), oy = p0.getYValue(), oz = p0.getZValue();
+        double ix = 1 / v.getXValue(), iy = 1 / v.getYValue(), iz = 1 / v.getZValue();
+        int[] stack = new int[_depth + 1];
+        double[] entries = new double[_depth + 1];
+        int top = 0;
+        double tRoot = enter(0, ox, oy, oz, ix, iy, iz, maxDistance);
+        if (tRoot != Double.POSITIVE_INFINITY) {
+            stack[top] = 0;
+            entries[top++] = tRoot;
+        }
+        while (top > 0) {
+            int node = stack[--top];
+            // the nodes are tested on push - a hit since then may have shrunk the max distance
+            if (entries[top] > maxDistance)
+                continue;
+            int count = _count[node];
+            if (count == 0) {
+                int first = node + 1, second = _offset[node];
+                double tFirst = enter(first, ox, oy, oz, ix, iy, iz, maxDistance);
+                double tSecond = enter(second, ox, oy, oz, ix, iy, iz, maxDistance);
+                if (tSecond < tFirst) {
+                    int n = first; first = second; second = n;
+                    double t = tFirst; tFirst = tSecond; tSecond = t;
+                }
+                if (tSecond != Double.POSITIVE_INFINITY) {
+                    stack[top] = second;
+                    entries[top++] = tSecond;
+                }
+                if (tFirst != Double.POSITIVE_INFINITY) {
+                    stack[top] = first;
+                    entries[top++] = tFirst;
+                }
+            } else {
+                int start = _offset[node];
+                maxDistance = visitor.visit(start, start + count, maxDistance);
+                if (maxDistance == STOP)
+                    return STOP;
+            }
+        }
+        return maxDistance;
+    }
+
+    /**
+     * this func calculate the distance in which a ray enters a node box
+     *
+     * @param node        node index
+     * @param ox          ray head x value
+     * @param oy          ray head y value
+     * @param oz          ray head z value
+     * @param ix          inverse of the ray direction x value
+     * @param iy          inverse of the ray direction y value
+     * @param iz          inverse of the ray direction z value
+     * @param maxDistance max of the dist
+     * @return the entry distance, or positive infinity if the ray misses the box within maxDistance
+     */
+    double enter(int node, double ox, double oy, double oz,
+                 double ix, double iy, double iz, double maxDistance) {
+        int b = 6 * node;
+        double tMin = 0, tMax = maxDistance;
+        // NaN values (0 * infinity on the box face) are ignored by the comparisons - conservative
+        double t1 = (_bounds[b] - ox) * ix, t2 = (_bounds[b + 3] - ox) * ix;
+        if (t1 > t2) { double t = t1; t1 = t2; t2 = t; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+
+        t1 = (_bounds[b + 1] - oy) * iy;
+        t2 = (_bounds[b + 4] - oy) * iy;
+        if (t1 > t2) { double t = t1; t1 = t2; t2 = t; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+
+        t1 = (_bounds[b + 2] - oz) * iz;
+        t2 = (_bounds[b + 5] - oz) * iz;
+        if (t1 > t2) { double t = t1; t1 = t2; t2 = t; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+
+        return tMin <= tMax ? tMin : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * recursive func to build the sub tree of the primitives in _order[start..end)
+     *
+     * @param boxes     primitives boxes
+     * @param centroids primitives boxes centers (3 values per primitive)
+     * @param start     first index in _order
+     * @param end       index after the last in _order
+     * @param depth     depth of the node
+     * @return the node index
+     */
+    private int build(double[] boxes, double[] centroids, int start, int end, int depth) {
+        int node = _nodeCount++;
+        if (depth > _depth)
+            _depth = depth;
+
+        // node box and the box of the centroids
+        double[] bounds = emptyBounds();
+        double[] cBounds = emptyBounds();
+        for (int i = start; i < end; ++i) {
+            int p = _order[i];
+            merge(bounds, boxes, 6 * p);
+            growPoint(cBounds, centroids, p);
+        }
+        int b = 6 * node;
+        for (int axis = 0; axis < 3; ++axis) {
+            _bounds[b + axis] = floor(bounds[axis] - _padding);
+            _bounds[b + axis + 3] = ceil(bounds[axis + 3] + _padding);
+        }
+
+        int count = end - start;
+        if (count == 1) {
+            makeLeaf(node, start, count);
+            return node;
+        }
+
+        // look for the cheapest split over all axes
+        double nodeArea = area(bounds, 0);
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestAxis = -1, bestBin = -1;
+        int[] binCount = new int[BINS];
+        double[] binBounds = new double[6 * BINS];
+        double[] rightArea = new double[BINS];
+        for (int axis = 0; axis < 3; ++axis) {
+            double cMin = cBounds[axis], cMax = cBounds[axis + 3];
+            if (cMax - cMin <= 0)
+                continue;
+            double binScale = BINS / (cMax - cMin);
+            Arrays.fill(binCount, 0);
+            for (int bin = 0; bin < BINS; ++bin)
+                System.arraycopy(emptyBounds(), 0, binBounds, 6 * bin, 6);
+            for (int i = start; i < end; ++i) {
+                int p = _order[i];
+                int bin = binIndex(centroids[3 * p + axis], cMin, binScale);
+                ++binCount[bin];
+                grow(binBounds, 6 * bin, boxes, 6 * p);
+            }
+            // sweep from the right for the right side areas
+            double[] acc = emptyBounds();
+            for (int bin = BINS - 1; bin > 0; --bin) {
+                merge(acc, binBounds, 6 * bin);
+                rightArea[bin] = area(acc, 0);
+            }
+            // sweep from the left and evaluate every split plane
+            acc = emptyBounds();
+            int leftCount = 0;
+            for (int bin = 0; bin < BINS - 1; ++bin) {
+                merge(acc, binBounds, 6 * bin);
+                leftCount += binCount[bin];
+                int rightCount = count - leftCount;
+                if (leftCount == 0 || rightCount == 0)
+                    continue;
+                double cost = area(acc, 0) * leftCount + rightArea[bin + 1] * rightCount;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = axis;
+                    bestBin = bin;
+                }
+            }
+        }
+
+        int mid;
+        if (bestAxis < 0) {
+            // all the centroids are at the same place - no plane can separate them
+            if (count <= MAX_LEAF_SIZE) {
+                makeLeaf(node, start, count);
+                return node;
+            }
+            mid = start + count / 2;
+        } else {
+            if (count <= MAX_LEAF_SIZE && count * nodeArea <= TRAVERSAL_COST * nodeArea + bestCost) {
+                makeLeaf(node, start, count);
+                return node;
+            }
+            double cMin = cBounds[bestAxis];
+            double binScale = BINS / (cBounds[bestAxis + 3] - cMin);
+            mid = start;
+            for (int i = start; i < end; ++i) {
+                int p = _order[i];
+                if (binIndex(centroids[3 * p + bestAxis], cMin, binScale) <= bestBin) {
+                    _order[i] = _order[mid];
+                    _order[mid++] = p;
+                }
+            }
+        }
+
+        _count[node] = 0;
+        build(boxes, centroids, start, mid, depth + 1);
+        _offset[node] = build(boxes, centroids, mid, end, depth + 1);
+        return node;
+    }
+
+    /**
+     * make the node a leaf
+     *
+     * @param node  the node
+     * @param start first index in _order
+     * @param count amount of primitives
+     */
+    private void makeLeaf(int node, int start, int count) {
+        _offset[node] = start;
+        _count[node] = (byte) count;
+    }
+
+    /**
+     * the largest float value that is not above a value
+     */
+    private static float floor(double value) {
+        float f = (float) value;
+        return f > value ? Math.nextDown(f) : f;
+    }
+
+    /**
+     * the smallest float value that is not below a value
+     */
+    private static float ceil(double value) {
+        float f = (float) value;
+        return f < value ? Math.nextUp(f) : f;
+    }
+
+    /**
+     * bin of a centroid on the split axis
+     */
+    private static int binIndex(double centroid, double cMin, double binScale) {
+        int bin = (int) ((centroid - cMin) * binScale);
+        return bin < 0 ? 0 : (bin >= BINS ? BINS - 1 : bin);
+    }
+
+    /**
+     * inverted (empty) box values
+     */
+    private static double[] emptyBounds() {
+        double inf = Double.POSITIVE_INFINITY;
+        return new double[]{inf, inf, inf, -inf, -inf, -inf};
+    }
+
+    /**
+     * raw values of the boxes (6 per box)
+     */
+    private static double[] toBounds(BoundingBox[] boxes) {
+        double[] bounds = new double[6 * boxes.length];
+        for (int i = 0; i < boxes.length; ++i) {
+            BoundingBox box = boxes[i];
+            int b = 6 * i;
+            bounds[b] = box._minX;
+            bounds[b + 1] = box._minY;
+            bounds[b + 2] = box._minZ;
+            bounds[b + 3] = box._maxX;
+            bounds[b + 4] = box._maxY;
+            bounds[b + 5] = box._maxZ;
+        }
+        return bounds;
+    }
+
+    /**
+     * grow bounds (at offset) to contain other bounds (at other offset)
+     */
+    private static void grow(double[] bounds, int offset, double[] other, int otherOffset) {
+        for (int axis = 0; axis < 3; ++axis) {
+            bounds[offset + axis] = Math.min(bounds[offset + axis], other[otherOffset + axis]);
+            bounds[offset + axis + 3] = Math.max(bounds[offset + axis + 3], other[otherOffset + axis + 3]);
+        }
+    }
+
+    /**
+     * grow bounds to contain a primitive centroid
+     */
+    private static void growPoint(double[] bounds, double[] centroids, int p) {
+        for (int axis = 0; axis < 3; ++axis) {
+            double c = centroids[3 * p + axis];
+            bounds[axis] = Math.min(bounds[axis], c);
+            bounds[axis + 3] = Math.max(bounds[axis + 3], c);
+        }
+    }
+
+    /**
+     * grow bounds to contain other bounds (at offset)
+     */
+    private static void merge(double[] bounds, double[] other, int offset) {
+        grow(bounds, 0, other, offset);
+    }
+
+    /**
+     * surface area of bounds (at offset), 0 for empty bounds
+     */
+    private static double area(double[] bounds, int offset) {
+        double dx = bounds[offset + 3] - bounds[offset];
+        if (dx < 0)
+            return 0;
+        return BoundingBox.surfaceArea(dx, bounds[offset + 4] - bounds[offset + 1], bounds[offset + 5] - bounds[offset + 2]);
+    }
+}
@@ -0,0 +1,131 @@
+package geometries;
+
+import primitives.Point3D;
+
+/**
+ * class BoundingBox for axis aligned box around a finite geometry
+ *
+ * @author AhronS, IsraelN
+ */
+public class BoundingBox {
+    /**
+     * Box limits, intentionally "package-friendly" due to performance
+     * constraints
+     */
+    final double _minX, _minY, _minZ;
+    final double _maxX, _maxY, _maxZ;
+
+    // ****************************** Constructors *****************************/
+
+    /**
+     * BoundingBox constructor receiving the box limits
+     *
+     * @param minX minimal x value
+     * @param minY minimal y value
+     * @param minZ minimal z value
+     * @param maxX maximal x value
+     * @param maxY maximal y value
+     * @param maxZ maximal z value
+     */
+    public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (minX > maxX || minY > maxY || minZ > maxZ)
+            throw new IllegalArgumentException("min limit of bounding box can not be bigger than max limit");
+        _minX = minX;
+        _minY = minY;
+        _minZ = minZ;
+        _maxX = maxX;
+        _maxY = maxY;
+        _maxZ = maxZ;
+    }
+
+    /**
+     * BoundingBox constructor - the smallest box containing all the points
+     *
+     * @param points one or more points
+     */
+    public BoundingBox(Point3D... points) {
+        if (points.length == 0)
+            throw new IllegalArgumentException("bounding box needs at least one point");
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (Point3D p : points) {
+            double x = p.getXValue(), y = p.getYValue(), z = p.getZValue();
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            maxZ = Math.max(maxZ, z);
+        }
+        _minX = minX;
+        _minY = minY;
+        _minZ = minZ;
+        _maxX = maxX;
+        _maxY = maxY;
+        _maxZ = maxZ;
+    }
+
+    // ****************************** Getters *****************************/
+
+    /**
+     * BoundingBox getter
+     *
+     * @return the corner with the minimal values
+     */
+    public Point3D getMin() {
+        return new Point3D(_minX, _minY, _minZ);
+    }
+
+    /**
+     * BoundingBox getter
+     *
+     * @return the corner with the maximal values
+     */
+    public Point3D getMax() {
+        return new Point3D(_maxX, _maxY, _maxZ);
+    }
+
+    // ****************************** Functions *****************************/
+
+    /**
+     * this func create the smallest box containing this box and another one
+     *
+     * @param other the other box
+     * @return the new box
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(
+                Math.min(_minX, other._minX), Math.min(_minY, other._minY), Math.min(_minZ, other._minZ),
+                Math.max(_maxX, other._maxX), Math.max(_maxY, other._maxY), Math.max(_maxZ, other._maxZ));
+    }
+
+    /**
+     * this func calculate the surface area of the box
+     *
+     * @return the surface area
+     */
+    public double surfaceArea() {
+        return surfaceArea(_maxX - _minX, _maxY - _minY, _maxZ - _minZ);
+    }
+
+    /**
+     * surface area of a box by its extents
+     *
+     * @param dx extent on x scale
+     * @param dy extent on y scale
+     * @param dz extent on z scale
+     * @return the surface area
+     */
+    static double surfaceArea(double dx, double dy, double dz) {
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /****************************** Override *****************************/
+    @Override
+    public String toString() {
+        return "BoundingBox{" +
+                "_min=(" + _minX + ", " + _minY + ", " + _minZ + ")" +
+                ", _max=(" + _maxX + ", " + _maxY + ", " + _maxZ + ")" +
+                '}';
+    }
+}
@@ -94,6 +94,21 @@ public class Cylinder extends Tube {
                 '}';
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        // the box of the two base disks - a disk spreads r*sqrt(1-d^2) on an axis
+        Point3D p1 = getAxisRay().getP0();
+        Point3D p2 = getAxisRay().getPoint(_height);
+        Vector d = getAxisRay().getDir();
+        double r = getRadius();
+        double ex = r * Math.sqrt(Math.max(0, 1 - d.getXValue() * d.getXValue()));
+        double ey = r * Math.sqrt(Math.max(0, 1 - d.getYValue() * d.getYValue()));
+        double ez = r * Math.sqrt(Math.max(0, 1 - d.getZValue() * d.getZValue()));
+        BoundingBox axis = new BoundingBox(p1, p2);
+        return new BoundingBox(axis._minX - ex, axis._minY - ey, axis._minZ - ez,
+                axis._maxX + ex, axis._maxY + ey, axis._maxZ + ez);
+    }
+
     @Override
     public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
         List<GeoPoint> intersections = super.findIntersections(ray, maxDistance);
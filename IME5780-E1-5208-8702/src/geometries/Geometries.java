@@ -1,10 +1,16 @@
 package geometries;
 
+import primitives.Color;
+import primitives.Material;
 import primitives.Ray;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * class Geometries all geometries in the collect
@@ -12,6 +18,14 @@ import java.util.List;
 public class Geometries implements Intersectable {
     // hold the collect of the geometries
     private List<Intersectable> listOfGeometries= new LinkedList<>();
+    // bounding volume hierarchy over the bounded geometries, null until buildBVH()
+    private BVH _bvh;
+    // the bounded geometries in the order of the BVH leaves
+    private Intersectable[] _bounded;
+    // geometries without a bounding box (Plane, Tube...) - tested for every ray
+    private Intersectable[] _unbounded;
+    // the compiled geometries partitioned by class - used while there is no BVH (see compile)
+    private GeometryBuckets _buckets;
 
     // ****************************** Constructors *****************************/
 
@@ -24,15 +38,132 @@ public class Geometries implements Intersectable {
         add(geometries);
     }
 
+    /**
+     * Geometries constructor over a fixed list (see compile)
+     *
+     * @param geometries the geometries (unmodifiable)
+     */
+    private Geometries(List<Intersectable> geometries) {
+        listOfGeometries = geometries;
+    }
+
     // ****************************** Functions *****************************//
 
     /**
      * add geometry to list
+     * (the bounding volume hierarchy, if was built, is dropped)
      *
      * @param geometries
      */
     public void add(Intersectable... geometries) {
         this.listOfGeometries.addAll(Arrays.asList(geometries));
+        _bvh = null;
+    }
+
+    /**
+     * build bounding volume hierarchy (by the surface area heuristic) over the
+     * geometries that have a bounding box, the unbounded ones are kept aside.
+     * The queries visit the bounded geometries in the order of the hierarchy
+     * leaves, not in the order of the list (the grouping by class of compile
+     * holds only inside a leaf). Nested Geometries build their own hierarchy as well.
+     * Nothing is done if the hierarchy is already built.
+     */
+    public void buildBVH() {
+        if (_bvh != null)
+            return;
+        List<Intersectable> bounded = new ArrayList<>();
+        List<BoundingBox> boxes = new ArrayList<>();
+        List<Intersectable> unbounded = new ArrayList<>();
+        for (Intersectable geo : listOfGeometries) {
+            if (geo instanceof Geometries)
+                ((Geometries) geo).buildBVH();
+            BoundingBox box = geo.getBoundingBox();
+            if (box == null)
+                unbounded.add(geo);
+            else {
+                bounded.add(geo);
+                boxes.add(box);
+            }
+        }
+        BVH bvh = new BVH(boxes.toArray(new BoundingBox[0]));
+        _bounded = new Intersectable[bounded.size()];
+        for (int i = 0; i < _bounded.length; ++i)
+            _bounded[i] = bounded.get(bvh._order[i]);
+        _unbounded = unbounded.toArray(new Intersectable[0]);
+        _bvh = bvh;
+    }
+
+    /**
+     * func compile - a flat copy of the geometries for rendering: the nested
+     * Geometries are replaced by their geometries (in an array list that can
+     * not be changed), and the geometries are grouped by their class (in the order
+     * of the first geometry of every class), so every loop over them meets one
+     * class after the other. Without the bounding volume hierarchy the queries run
+     * over GeometryBuckets of the geometries (one loop per class), with it the
+     * bounded geometries are visited by the hierarchy order instead (see buildBVH).
+     * Equal materials and emissions are shared by one instance: a geometry that
+     * already has the shared instances is kept, any other geometry is copied with
+     * them (see Geometry.copy), so the given geometries are not changed
+     *
+     * @param bvh true to build the bounding volume hierarchy of the copy
+     * @return the compiled geometries
+     */
+    public Geometries compile(boolean bvh) {
+        Map<Class<?>, List<Intersectable>> groups = new LinkedHashMap<>();
+        flatten(this, groups, new HashMap<>(), new HashMap<>());
+        List<Intersectable> geometries = new ArrayList<>();
+        for (List<Intersectable> group : groups.values())
+            geometries.addAll(group);
+        Intersectable[] array = geometries.toArray(new Intersectable[0]);
+        Geometries compiled = new Geometries(List.of(array));
+        if (bvh)
+            compiled.buildBVH();
+        else
+            compiled._buckets = new GeometryBuckets(array);
+        return compiled;
+    }
+
+    /**
+     * collect the geometries of a tree by their class, sharing equal materials and emissions
+     * (in copies of the geometries that have other instances of them)
+     *
+     * @param geometries the tree root
+     * @param groups     the geometries by class
+     * @param materials  the shared materials
+     * @param emissions  the shared emissions
+     */
+    private static void flatten(Geometries geometries, Map<Class<?>, List<Intersectable>> groups,
+                                Map<Material, Material> materials, Map<Color, Color> emissions) {
+        for (Intersectable geo : geometries.listOfGeometries) {
+            if (geo instanceof Geometries) {
+                flatten((Geometries) geo, groups, materials, emissions);
+                continue;
+            }
+            if (geo instanceof Geometry) {
+                Geometry geometry = (Geometry) geo;
+                Material material = materials.computeIfAbsent(geometry._material, m -> m);
+                Color emission = emissions.computeIfAbsent(geometry._emission, e -> e);
+                if (material != geometry._material || emission != geometry._emission)
+                    geo = geometry.copy(emission, material);
+            }
+            groups.computeIfAbsent(geo.getClass(), c -> new ArrayList<>()).add(geo);
+        }
+    }
+
+    /**
+     * add the intersections of one geometry to the collected intersections
+     *
+     * @param intersections     the collected intersections (may be null)
+     * @param tempIntersections the intersections of the geometry (may be null)
+     * @return the collected intersections
+     */
+    static List<GeoPoint> addIntersections(List<GeoPoint> intersections, List<GeoPoint> tempIntersections) {
+        if (tempIntersections != null) {
+            if (intersections == null)
+                intersections = new LinkedList<>();
+            intersections.addAll(tempIntersections);
+        }
+        return intersections;
     }
 
     // ****************************** Overrides *****************************//
@@ -41,14 +172,131 @@ public class Geometries implements Intersectable {
     public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
         List<GeoPoint> intersections = null;
 
-        for (Intersectable geo : listOfGeometries) {
-            List<GeoPoint> tempIntersections = geo.findIntersections(ray, maxDistance);
-            if (tempIntersections != null) {
-                if (intersections == null)
-                    intersections = new LinkedList<>();
-                intersections.addAll(tempIntersections);
+        if (_bvh == null) {
+            if (_buckets != null)
+                return _buckets.findIntersections(ray, maxDistance);
+            for (Intersectable geo : listOfGeometries)
+                intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+            return intersections;
+        }
+
+        for (Intersectable geo : _unbounded)
+            intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+        List<GeoPoint> bounded = new LinkedList<>();
+        _bvh.traverse(ray, maxDistance, (start, end, distance) -> {
+            for (int i = start; i < end; ++i)
+                addIntersections(bounded, _bounded[i].findIntersections(ray, distance));
+            return distance;
+        });
+        return bounded.isEmpty() ? intersections : addIntersections(intersections, bounded);
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+        GeoPoint closestPoint = null;
+
+        // every hit shrinks the max distance, so farther geometries and nodes are rejected early
+        if (_bvh == null) {
+            if (_buckets != null)
+                return _buckets.findClosestIntersection(ray, maxDistance);
+            for (Intersectable geo : listOfGeometries) {
+                closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+                if (closestPoint != null)
+                    maxDistance = closestPoint.distance;
             }
+            return closestPoint;
         }
-        return intersections;
+
+        for (Intersectable geo : _unbounded) {
+            closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+            if (closestPoint != null)
+                maxDistance = closestPoint.distance;
+        }
+        GeoPoint[] closest = {closestPoint};
+        _bvh.traverse(ray, maxDistance, (start, end, distance) -> {
+            for (int i = start; i < end; ++i) {
+                closest[0] = closer(closest[0], _bounded[i].findClosestIntersection(ray, distance));
+                if (closest[0] != null)
+                    distance = closest[0].distance;
+            }
+            return distance;
+        });
+        return closest[0];
+    }
+
+    /**
+     * choose the closer of two geo points (the first one on equal distances)
+     *
+     * @param closestPoint the closest point so far (may be null)
+     * @param geoPoint     new geo point (may be null)
+     * @return the closer point
+     */
+    static GeoPoint closer(GeoPoint closestPoint, GeoPoint geoPoint) {
+        if (geoPoint == null)
+            return closestPoint;
+        if (closestPoint == null || geoPoint.distance < closestPoint.distance)
+            return geoPoint;
+        return closestPoint;
+    }
+
+    @Override
+    public boolean hasIntersection(Ray ray, double maxDistance) {
+        if (_bvh == null) {
+            if (_buckets != null)
+                return _buckets.hasIntersection(ray, maxDistance);
+            for (Intersectable geo : listOfGeometries)
+                if (geo.hasIntersection(ray, maxDistance))
+                    return true;
+            return false;
+        }
+
+        for (Intersectable geo : _unbounded)
+            if (geo.hasIntersection(ray, maxDistance))
+                return true;
+        return _bvh.traverse(ray, maxDistance, (start, end, distance) -> {
+            for (int i = start; i < end; ++i)
+                if (_bounded[i].hasIntersection(ray, distance))
+                    return BVH.STOP;
+            return distance;
+        }) == BVH.STOP;
+    }
+
+    @Override
+    public double findTransparency(Ray ray, double maxDistance, double ktr, double minK, Geometry[] occluder) {
+        if (_bvh == null) {
+            if (_buckets != null)
+                return _buckets.findTransparency(ray, maxDistance, ktr, minK, occluder);
+            for (Intersectable geo : listOfGeometries) {
+                ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder);
+                if (ktr == 0)
+                    return 0;
+            }
+            return ktr;
+        }
+
+        for (Intersectable geo : _unbounded) {
+            ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder);
+            if (ktr == 0)
+                return 0;
+        }
+        double[] k = {ktr};
+        return _bvh.traverse(ray, maxDistance, (start, end, distance) -> {
+            for (int i = start; i < end; ++i)
+                if ((k[0] = _bounded[i].findTransparency(ray, distance, k[0], minK, occluder)) == 0)
+                    return BVH.STOP;
+            return distance;
+        }) == BVH.STOP ? 0 : k[0];
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        BoundingBox box = null;
+        for (Intersectable geo : listOfGeometries) {
+            BoundingBox geoBox = geo.getBoundingBox();
+            if (geoBox == null)
+                return null;
+            box = box == null ? geoBox : box.union(geoBox);
+        }
+        return box;
     }
 }
@@ -3,12 +3,15 @@ package geometries;
 import primitives.Color;
 import primitives.Material;
 import primitives.Point3D;
+import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
 /**
  * interface for geometric objects
  */
-public abstract class Geometry implements Intersectable {
+public abstract class Geometry implements Intersectable, Cloneable {
     protected Color _emission;
     protected Material _material;
 
@@ -67,4 +70,47 @@ public abstract class Geometry implements Intersectable {
      * @param point3D the point
      */
     public abstract Vector getNormal(Point3D point3D);
+
+    /**
+     * this func make a copy of the geometry with other emission and material
+     * (the shape values are shared - they are not changed after the geometry is made)
+     *
+     * @param emission emission of the copy
+     * @param material material of the copy
+     * @return the copy
+     */
+    Geometry copy(Color emission, Material material) {
+        try {
+            Geometry copy = (Geometry) clone();
+            copy._emission = emission;
+            copy._material = material;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ****************************** Overrides *****************************//
+
+    @Override
+    public double findTransparency(Ray ray, double maxDistance, double ktr, double minK, Geometry[] occluder) {
+        double kT = _material.getKT();
+        // opaque geometry - any intersection blocks the ray
+        if (kT == 0) {
+            if (!hasIntersection(ray, maxDistance))
+                return ktr;
+            if (occluder != null)
+                occluder[0] = this;
+            return 0;
+        }
+        List<GeoPoint> intersections = findIntersections(ray, maxDistance);
+        if (intersections == null)
+            return ktr;
+        for (int i = intersections.size(); i > 0; --i) {
+            ktr *= kT;
+            if (ktr < minK)
+                return 0;
+        }
+        return ktr;
+    }
 }
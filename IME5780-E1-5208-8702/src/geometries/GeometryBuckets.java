@@ -0,0 +1,217 @@
+package geometries;
+
+import primitives.Ray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static geometries.Geometries.addIntersections;
+import static geometries.Geometries.closer;
+
+/**
+ * class GeometryBuckets - a fixed collection of geometries partitioned by their
+ * concrete class. Every query runs one loop per bucket over an array of the
+ * bucket class, so every call site meets a single class and the JIT can inline
+ * it (the one loop of Geometries over all the classes is megamorphic). Geometries
+ * of other classes (meshes, nested Geometries, sub classes) are kept in a common
+ * bucket. The hits are the same as of Geometries over the same geometries, in
+ * the buckets order. The compiled geometries without a bounding volume hierarchy
+ * run their queries over buckets (see Geometries.compile).
+ * Tubes and cylinders have no intersections yet (Tube.findIntersections finds
+ * none), so their buckets only cost the calls of their queries
+ *
+ * @author AhronS, IsraelN
+ */
+public class GeometryBuckets implements Intersectable {
+    private final Plane[] _planes;
+    private final Sphere[] _spheres;
+    private final Triangle[] _triangles;
+    private final Polygon[] _polygons;
+    private final Tube[] _tubes;
+    private final Cylinder[] _cylinders;
+    // the geometries of the other classes
+    private final Intersectable[] _others;
+
+    // ****************************** Constructors *****************************/
+
+    /**
+     * GeometryBuckets constructor
+     *
+     * @param geometries geometries
+     */
+    public GeometryBuckets(Intersectable... geometries) {
+        List<Plane> planes = new ArrayList<>();
+        List<Sphere> spheres = new ArrayList<>();
+        List<Triangle> triangles = new ArrayList<>();
+        List<Polygon> polygons = new ArrayList<>();
+        List<Tube> tubes = new ArrayList<>();
+        List<Cylinder> cylinders = new ArrayList<>();
+        List<Intersectable> others = new ArrayList<>();
+        // by the exact class - a sub class may override the intersection
+        for (Intersectable geo : geometries) {
+            Class<?> type = geo.getClass();
+            if (type == Plane.class)
+                planes.add((Plane) geo);
+            else if (type == Sphere.class)
+                spheres.add((Sphere) geo);
+            else if (type == Triangle.class)
+                triangles.add((Triangle) geo);
+            else if (type == Polygon.class)
+                polygons.add((Polygon) geo);
+            else if (type == Tube.class)
+                tubes.add((Tube) geo);
+            else if (type == Cylinder.class)
+                cylinders.add((Cylinder) geo);
+            else
+                others.add(geo);
+        }
+        _planes = planes.toArray(new Plane[0]);
+        _spheres = spheres.toArray(new Sphere[0]);
+        _triangles = triangles.toArray(new Triangle[0]);
+        _polygons = polygons.toArray(new Polygon[0]);
+        _tubes = tubes.toArray(new Tube[0]);
+        _cylinders = cylinders.toArray(new Cylinder[0]);
+        _others = others.toArray(new Intersectable[0]);
+    }
+
+    // ****************************** Getters *****************************//
+
+    /**
+     * GeometryBuckets getter
+     *
+     * @return amount of geometries in all the buckets
+     */
+    public int size() {
+        return _planes.length + _spheres.length + _triangles.length + _polygons.length
+                + _tubes.length + _cylinders.length + _others.length;
+    }
+
+    // ****************************** Overrides *****************************//
+
+    @Override
+    public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = null;
+        for (Plane geo : _planes)
+            intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+        for (Sphere geo : _spheres)
+            intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+        for (Triangle geo : _triangles)
+            intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+        for (Polygon geo : _polygons)
+            intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+        for (Tube geo : _tubes)
+            intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+        for (Cylinder geo : _cylinders)
+            intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+        for (Intersectable geo : _others)
+            intersections = addIntersections(intersections, geo.findIntersections(ray, maxDistance));
+        return intersections;
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+        GeoPoint closestPoint = null;
+        // every hit shrinks the max distance, so farther geometries are rejected early
+        for (Plane geo : _planes) {
+            closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+            if (closestPoint != null)
+                maxDistance = closestPoint.distance;
+        }
+        for (Sphere geo : _spheres) {
+            closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+            if (closestPoint != null)
+                maxDistance = closestPoint.distance;
+        }
+        for (Triangle geo : _triangles) {
+            closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+            if (closestPoint != null)
+                maxDistance = closestPoint.distance;
+        }
+        for (Polygon geo : _polygons) {
+            closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+            if (closestPoint != null)
+                maxDistance = closestPoint.distance;
+        }
+        for (Tube geo : _tubes) {
+            closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+            if (closestPoint != null)
+                maxDistance = closestPoint.distance;
+        }
+        for (Cylinder geo : _cylinders) {
+            closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+            if (closestPoint != null)
+                maxDistance = closestPoint.distance;
+        }
+        for (Intersectable geo : _others) {
+            closestPoint = closer(closestPoint, geo.findClosestIntersection(ray, maxDistance));
+            if (closestPoint != null)
+                maxDistance = closestPoint.distance;
+        }
+        return closestPoint;
+    }
+
+    @Override
+    public boolean hasIntersection(Ray ray, double maxDistance) {
+        for (Plane geo : _planes)
+            if (geo.hasIntersection(ray, maxDistance))
+                return true;
+        for (Sphere geo : _spheres)
+            if (geo.hasIntersection(ray, maxDistance))
+                return true;
+        for (Triangle geo : _triangles)
+            if (geo.hasIntersection(ray, maxDistance))
+                return true;
+        for (Polygon geo : _polygons)
+            if (geo.hasIntersection(ray, maxDistance))
+                return true;
+        for (Tube geo : _tubes)
+            if (geo.hasIntersection(ray, maxDistance))
+                return true;
+        for (Cylinder geo : _cylinders)
+            if (geo.hasIntersection(ray, maxDistance))
+                return true;
+        for (Intersectable geo : _others)
+            if (geo.hasIntersection(ray, maxDistance))
+                return true;
+        return false;
+    }
+
+    @Override
+    public double findTransparency(Ray ray, double maxDistance, double ktr, double minK, Geometry[] occluder) {
+        for (Plane geo : _planes)
+            if ((ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder)) == 0)
+                return 0;
+        for (Sphere geo : _spheres)
+            if ((ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder)) == 0)
+                return 0;
+        for (Triangle geo : _triangles)
+            if ((ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder)) == 0)
+                return 0;
+        for (Polygon geo : _polygons)
+            if ((ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder)) == 0)
+                return 0;
+        for (Tube geo : _tubes)
+            if ((ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder)) == 0)
+                return 0;
+        for (Cylinder geo : _cylinders)
+            if ((ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder)) == 0)
+                return 0;
+        for (Intersectable geo : _others)
+            if ((ktr = geo.findTransparency(ray, maxDistance, ktr, minK, occluder)) == 0)
+                return 0;
+        return ktr;
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        BoundingBox box = null;
+        for (Intersectable[] bucket : new Intersectable[][]{_planes, _spheres, _triangles, _polygons, _tubes, _cylinders, _others})
+            for (Intersectable geo : bucket) {
+                BoundingBox geoBox = geo.getBoundingBox();
+                if (geoBox == null)
+                    return null;
+                box = box == null ? geoBox : box.union(geoBox);
+            }
+        return box;
+    }
+}
@@ -24,6 +24,83 @@ public interface Intersectable {
      */
     List<GeoPoint> findIntersections(Ray ray, double maxDistance);
 
+    default GeoPoint findClosestIntersection(Ray ray) {
+        return findClosestIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * find the closest intersection of the ray within max distance
+     * (the default scans all the intersections)
+     *
+     * @param ray         ray
+     * @param maxDistance max of the dist
+     * @return the closest geo point with its distance along the ray, null if there is no intersection
+     */
+    default GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = findIntersections(ray, maxDistance);
+        if (intersections == null)
+            return null;
+        Point3D p0 = ray.getP0();
+        GeoPoint closestPoint = null;
+        double closestDistance = Double.POSITIVE_INFINITY;
+        for (GeoPoint gp : intersections) {
+            double distance = p0.distance(gp.point);
+            if (distance < closestDistance) {
+                closestPoint = gp;
+                closestDistance = distance;
+            }
+        }
+        return closestPoint == null ? null : new GeoPoint(closestPoint.geometry, closestPoint.point, closestDistance);
+    }
+
+    /**
+     * check if the ray intersects the object (any intersection) within max distance
+     *
+     * @param ray         ray
+     * @param maxDistance max of the dist
+     * @return true if there is at least one intersection
+     */
+    default boolean hasIntersection(Ray ray, double maxDistance) {
+        return findIntersections(ray, maxDistance) != null;
+    }
+
+    /**
+     * calc the transparency along a ray (for shadow rays) - the accumulated
+     * transparency is multiplied by kT for every intersection within max distance.
+     * The calculation stops once the transparency is lower than minK
+     *
+     * @param ray         ray
+     * @param maxDistance max of the dist
+     * @param ktr         the transparency accumulated so far
+     * @param minK        the smallest transparency that is still calculated
+     * @return the accumulated transparency, 0 if it fell below minK
+     */
+    default double findTransparency(Ray ray, double maxDistance, double ktr, double minK) {
+        return findTransparency(ray, maxDistance, ktr, minK, null);
+    }
+
+    /**
+     * calc the transparency along a ray (see findTransparency above), keeping the
+     * opaque geometry (no transparency) that blocked it - in the same traversal
+     *
+     * @param ray         ray
+     * @param maxDistance max of the dist
+     * @param ktr         the transparency accumulated so far
+     * @param minK        the smallest transparency that is still calculated
+     * @param occluder    array of one for the opaque geometry that blocked the ray - set only
+     *                    when the ray is blocked by an opaque geometry (may be null)
+     * @return the accumulated transparency, 0 if it fell below minK
+     */
+    double findTransparency(Ray ray, double maxDistance, double ktr, double minK, Geometry[] occluder);
+
+    /**
+     * get the axis aligned box around the object
+     *
+     * @return the bounding box, or null if the object is unbounded
+     */
+    default BoundingBox getBoundingBox() {
+        return null;
+    }
 
     /**
      * static class Geo Point
@@ -31,6 +108,10 @@ public interface Intersectable {
     public static class GeoPoint {
         public Geometry geometry;
         public Point3D point;
+        /**
+         * distance from the ray head (the ray parameter t), infinity if unknown
+         */
+        public double distance = Double.POSITIVE_INFINITY;
 
         // ****************************** Constructors *****************************//
 
@@ -45,6 +126,18 @@ public interface Intersectable {
             this.point = point;
         }
 
+        /**
+         * GeoPoint constructor with the distance along the ray
+         *
+         * @param geometry geometry
+         * @param point    point
+         * @param distance distance from the ray head
+         */
+        public GeoPoint(Geometry geometry, Point3D point, double distance) {
+            this(geometry, point);
+            this.distance = distance;
+        }
+
         // ****************************** Overrides *****************************//
 
         @Override
@@ -53,7 +146,7 @@ public interface Intersectable {
             if (o == null) return false;
             if (!(o instanceof GeoPoint)) return false;
             GeoPoint geoPoint = (GeoPoint) o;
-            return geometry == geoPoint.geometry && point.equals(geoPoint.point);
+            return Objects.equals(geometry, geoPoint.geometry) && point.equals(geoPoint.point);
         }
 
     }
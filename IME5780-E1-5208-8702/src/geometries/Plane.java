@@ -136,24 +136,50 @@ public class Plane extends Geometry {
 
     @Override
     public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
-        Vector p0Q;
+        double t = intersectionDistance(ray, maxDistance);
+        if (t == Double.POSITIVE_INFINITY)
+            return null;
+        return List.of(new GeoPoint(this, ray.getP0().add(ray.getDir().scale(t))));
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+        double t = intersectionDistance(ray, maxDistance);
+        if (t == Double.POSITIVE_INFINITY)
+            return null;
+        return new GeoPoint(this, ray.getP0().add(ray.getDir().scale(t)), t);
+    }
+
+    @Override
+    public boolean hasIntersection(Ray ray, double maxDistance) {
+        return intersectionDistance(ray, maxDistance) != Double.POSITIVE_INFINITY;
+    }
+
+    // ****************************** Functions *****************************/
+
+    /**
+     * this func calc the distance from the ray head to the intersection with the plane
+     *
+     * @param ray         ray
+     * @param maxDistance max of the dist
+     * @return the distance, or positive infinity if there is no intersection within max distance
+     */
+    double intersectionDistance(Ray ray, double maxDistance) {
         Point3D p0 = ray.getP0();
         Vector v = ray.getDir();
         //check if p0 == q0 (0 point)
-        try {
-            p0Q = _p.subtract(p0);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+        if (_p.equals(p0))
+            return Double.POSITIVE_INFINITY;
+        Vector p0Q = _p.subtract(p0);
         // check if ray parallel or include the plane (0 point)
         double nv = _normal.dotProduct(v);
         if (isZero(nv))
-            return null;
+            return Double.POSITIVE_INFINITY;
         double t = alignZero(_normal.dotProduct(p0Q) / nv);
         if (t <= 0)
-            return null;
+            return Double.POSITIVE_INFINITY;
         if (alignZero(t - maxDistance) > 0) //== t>maxDistance
-            return null;
-        return List.of(new GeoPoint(this, p0.add(v.scale(t))));
+            return Double.POSITIVE_INFINITY;
+        return t;
     }
-}
\ No newline at end of file
+}
@@ -111,31 +111,58 @@ public class Polygon extends Geometry {
         return _plane.getNormal();
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return new BoundingBox(_vertices.toArray(new Point3D[0]));
+    }
+
     @Override
     public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
-        List<GeoPoint> intersection = _plane.findIntersections(ray,maxDistance);
-        if (intersection == null)
+        List<GeoPoint> intersection = _plane.findIntersections(ray, maxDistance);
+        if (intersection == null || !isInside(ray))
             return null;
+        intersection.get(0).geometry = this;
+        return intersection;
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+        double t = _plane.intersectionDistance(ray, maxDistance);
+        if (t == Double.POSITIVE_INFINITY || !isInside(ray))
+            return null;
+        return new GeoPoint(this, ray.getP0().add(ray.getDir().scale(t)), t);
+    }
+
+    @Override
+    public boolean hasIntersection(Ray ray, double maxDistance) {
+        return _plane.hasIntersection(ray, maxDistance) && isInside(ray);
+    }
+
+    /**
+     * check if the ray's line passes inside the polygon
+     * (by the signs of the ray direction with the sides of the pyramid from the ray head)
+     *
+     * @param ray ray
+     * @return true if inside (on the edges is outside)
+     */
+    private boolean isInside(Ray ray) {
         Point3D p0 = ray.getP0();
         Vector v = ray.getDir();
         Vector v1 = _vertices.get(1).subtract(p0);
         Vector v2 = _vertices.get(0).subtract(p0);
         double sign = v.dotProduct(v1.crossProduct(v2));
         if (isZero(sign))
-            return null;
+            return false;
         boolean positive = sign > 0;
         for (int i = _vertices.size() - 1; i > 0; --i) {
             v1 = v2;
             v2 = _vertices.get(i).subtract(p0);
             sign = alignZero(v.dotProduct(v1.crossProduct(v2)));
             if (isZero(sign))
-                return null;
+                return false;
             if (positive != (sign > 0))
-                return null;
+                return false;
         }
-        if (positive != (sign > 0))
-            return null;
-        intersection.get(0).geometry = this;
-        return intersection;
+        return true;
     }
-}
\ No newline at end of file
+}
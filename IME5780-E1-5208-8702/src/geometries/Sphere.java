@@ -15,6 +15,9 @@ import static primitives.Util.alignZero;
 public class Sphere extends RadialGeometry {
 
     private Point3D _center;
+    // center values and squared radius for the intersection kernel
+    private final double _cx, _cy, _cz;
+    private final double _radiusSquared;
 
     //****************************** Constructors *****************************/
 
@@ -29,6 +32,10 @@ public class Sphere extends RadialGeometry {
     public Sphere(Color emissionLight, Material material, double radius, Point3D center) {
         super(material, emissionLight, radius);
         _center = center;
+        _cx = center.getXValue();
+        _cy = center.getYValue();
+        _cz = center.getZValue();
+        _radiusSquared = radius * radius;
     }
 
     /**
@@ -76,34 +83,95 @@ public class Sphere extends RadialGeometry {
                 '}';
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        double r = getRadius();
+        double x = _center.getXValue(), y = _center.getYValue(), z = _center.getZValue();
+        return new BoundingBox(x - r, y - r, z - r, x + r, y + r, z + r);
+    }
+
     @Override
     public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
-        Point3D p0 = ray.getP0();
-        Vector v = ray.getDir();
-        Vector u;
-        //check if p0 same as _center
-        try {
-            u = _center.subtract(p0);
-        } catch (IllegalArgumentException e) {
-            return List.of(new GeoPoint(this, ray.getPoint(getRadius())));
+        double[] far = new double[1];
+        double t1 = intersectionDistance(ray, maxDistance, far);
+        if (t1 == Double.POSITIVE_INFINITY)
+            return null;
+        if (far[0] == Double.POSITIVE_INFINITY)
+            return List.of(new GeoPoint(this, ray.getPoint(t1)));
+        return List.of(new GeoPoint(this, ray.getPoint(t1)), new GeoPoint(this, ray.getPoint(far[0])));
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+        double t = intersectionDistance(ray, maxDistance, null);
+        if (t == Double.POSITIVE_INFINITY)
+            return null;
+        return new GeoPoint(this, ray.getPoint(t), t);
+    }
+
+    @Override
+    public boolean hasIntersection(Ray ray, double maxDistance) {
+        return intersectionDistance(ray, maxDistance, null) != Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double findTransparency(Ray ray, double maxDistance, double ktr, double minK, Geometry[] occluder) {
+        double kT = _material.getKT();
+        // the second intersection is needed only through a transparent sphere
+        double[] far = kT == 0 ? null : new double[1];
+        if (intersectionDistance(ray, maxDistance, far) == Double.POSITIVE_INFINITY)
+            return ktr;
+        if (kT == 0) {
+            if (occluder != null)
+                occluder[0] = this;
+            return 0;
         }
-        double tm = alignZero(v.dotProduct(u));
-        double dSquared = u.lengthSquared() - tm * tm;
-        double thSquared = alignZero(getRadius() * getRadius() - dSquared);
+        ktr *= kT;
+        // through the sphere - the ray crosses it twice
+        if (ktr >= minK && far[0] != Double.POSITIVE_INFINITY)
+            ktr *= kT;
+        return ktr < minK ? 0 : ktr;
+    }
 
+    // ****************************** Functions *****************************/
+
+    /**
+     * sphere intersection kernel - calc the distances from the ray head to the intersections
+     * with the sphere by the raw values of the ray, without creating any object
+     * (the quadratic is solved once for both intersections)
+     *
+     * @param ray         ray
+     * @param maxDistance max of the dist
+     * @param far         array for the distance of the second intersection, when the ray
+     *                    crosses the sphere - positive infinity otherwise (may be null)
+     * @return the distance of the closest intersection, or positive infinity if there is
+     * no intersection within max distance
+     */
+    private double intersectionDistance(Ray ray, double maxDistance, double[] far) {
+        if (far != null)
+            far[0] = Double.POSITIVE_INFINITY;
+        Point3D p0 = ray.getP0();
+        Vector v = ray.getDir();
+        // u = center - p0
+        double ux = alignZero(_cx - p0.getXValue());
+        double uy = alignZero(_cy - p0.getYValue());
+        double uz = alignZero(_cz - p0.getZValue());
+        // ray head at the center - the intersection is at radius distance
+        if (ux == 0 && uy == 0 && uz == 0)
+            return alignZero(getRadius() - maxDistance) <= 0 ? getRadius() : Double.POSITIVE_INFINITY;
+        double tm = alignZero(v.getXValue() * ux + v.getYValue() * uy + v.getZValue() * uz);
+        double thSquared = alignZero(_radiusSquared - (ux * ux + uy * uy + uz * uz - tm * tm));
         if (thSquared <= 0)
-            return null;
+            return Double.POSITIVE_INFINITY;
         double th = alignZero(Math.sqrt(thSquared));
         double t1 = alignZero(tm - th);
         double t2 = alignZero(tm + th);
-        if (t1 <= 0 && t2 <= 0)
-            return null;
-        if (t1 > 0 && t2 > 0 && t1 - maxDistance <= 0 && t2 - maxDistance <= 0)
-            return List.of(new GeoPoint(this, ray.getPoint(t1)), new GeoPoint(this, ray.getPoint(t2)));
-        if (t1 > 0 && t1 - maxDistance <= 0)
-            return List.of(new GeoPoint(this, ray.getPoint(t1)));
-        if (t2 - maxDistance > 0)
-            return null;
-        return List.of(new GeoPoint(this, ray.getPoint(t2)));
+        if (t2 <= 0 || t2 - maxDistance > 0)
+            t2 = Double.POSITIVE_INFINITY;
+        if (t1 <= 0)
+            return t2;
+        if (far != null)
+            far[0] = t2;
+        return t1 - maxDistance <= 0 ? t1 : Double.POSITIVE_INFINITY;
     }
-}
\ No newline at end of file
+}
@@ -2,9 +2,9 @@ package geometries;
 
 import primitives.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
@@ -14,6 +14,10 @@ import static primitives.Util.isZero;
  * @author AhronS, IsraelN
  */
 public class Triangle extends Polygon {
+    // first vertex and the two edges from it, precomputed for the intersection kernel
+    private final double _ax, _ay, _az;
+    private final double _e1x, _e1y, _e1z;
+    private final double _e2x, _e2y, _e2z;
 
     //****************************** Constructors *****************************/
 
@@ -28,6 +32,15 @@ public class Triangle extends Polygon {
      */
     public Triangle(Color emission, Material material, Point3D p1, Point3D p2, Point3D p3) {
         super(material, emission, p1, p2, p3);
+        _ax = p1.getXValue();
+        _ay = p1.getYValue();
+        _az = p1.getZValue();
+        _e1x = p2.getXValue() - _ax;
+        _e1y = p2.getYValue() - _ay;
+        _e1z = p2.getZValue() - _az;
+        _e2x = p3.getXValue() - _ax;
+        _e2y = p3.getYValue() - _ay;
+        _e2z = p3.getZValue() - _az;
     }
 
     /**
@@ -57,31 +70,97 @@ public class Triangle extends Polygon {
 
     @Override
     public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
-        List<GeoPoint> intersections = _plane.findIntersections(ray, maxDistance);
-        if (intersections == null)
+        double t = intersectionDistance(ray, maxDistance, null);
+        if (t == Double.POSITIVE_INFINITY)
             return null;
+        return List.of(new GeoPoint(this, ray.getPoint(t)));
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+        double t = intersectionDistance(ray, maxDistance, null);
+        if (t == Double.POSITIVE_INFINITY)
+            return null;
+        return new GeoPoint(this, ray.getPoint(t), t);
+    }
+
+    @Override
+    public boolean hasIntersection(Ray ray, double maxDistance) {
+        return intersectionDistance(ray, maxDistance, null) != Double.POSITIVE_INFINITY;
+    }
+
+    // ****************************** Functions *****************************/
+
+    /**
+     * this func calc the distance from the ray head to the intersection with the triangle
+     *
+     * @param ray         ray
+     * @param maxDistance max of the dist
+     * @param uv          array for the barycentric coordinates (u, v) of the intersection
+     *                    relative to the second and third vertices (may be null)
+     * @return the distance, or positive infinity if there is no intersection within max distance
+     */
+    double intersectionDistance(Ray ray, double maxDistance, double[] uv) {
         Point3D p0 = ray.getP0();
         Vector v = ray.getDir();
-        Vector v1 = _vertices.get(0).subtract(p0);
-        Vector v2 = _vertices.get(1).subtract(p0); //  0,0,-1
-        Vector v3 = _vertices.get(2).subtract(p0); // -1,1,-1
-
-        double s1 = v.dotProduct(v1.crossProduct(v2));
-        if (isZero(s1)) return null;
-        double s2 = v.dotProduct(v2.crossProduct(v3)); //1,1,0
-        if (isZero(s2)) return null;
-        double s3 = v.dotProduct(v3.crossProduct(v1));
-        if (isZero(s3)) return null;
-
-        if ((s1 > 0 && s2 > 0 && s3 > 0) || (s1 < 0 && s2 < 0 && s3 < 0)) {
-            List<GeoPoint> result = new ArrayList<>();
-            for (GeoPoint geo : intersections) {
-                if (s1 - maxDistance <= 0 && s2 - maxDistance <= 0 && s3 - maxDistance <= 0)
-                    result.add(new GeoPoint(this, geo.point));
-            }
-            //result.get(0).geometry = this;
-            return result;
+        return intersect(p0.getXValue(), p0.getYValue(), p0.getZValue(),
+                v.getXValue(), v.getYValue(), v.getZValue(),
+                _ax, _ay, _az, _e1x, _e1y, _e1z, _e2x, _e2y, _e2z, maxDistance, uv);
+    }
+
+    /**
+     * Moller-Trumbore ray - triangle intersection on raw values, without allocations.
+     * Like the rest of the geometries, intersections on the edges and vertices and
+     * rays parallel to the triangle are not counted
+     *
+     * @param ox          ray head x value
+     * @param oy          ray head y value
+     * @param oz          ray head z value
+     * @param dx          ray direction x value
+     * @param dy          ray direction y value
+     * @param dz          ray direction z value
+     * @param ax          first vertex x value
+     * @param ay          first vertex y value
+     * @param az          first vertex z value
+     * @param e1x         first edge (second vertex - first vertex) x value
+     * @param e1y         first edge y value
+     * @param e1z         first edge z value
+     * @param e2x         second edge (third vertex - first vertex) x value
+     * @param e2y         second edge y value
+     * @param e2z         second edge z value
+     * @param maxDistance max of the dist
+     * @param uv          array for the barycentric coordinates (u, v) of the intersection (may be null)
+     * @return the distance, or positive infinity if there is no intersection within max distance
+     */
+    static double intersect(double ox, double oy, double oz, double dx, double dy, double dz,
+                            double ax, double ay, double az,
+                            double e1x, double e1y, double e1z, double e2x, double e2y, double e2z,
+                            double maxDistance, double[] uv) {
+        // p = d x e2
+        double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        if (isZero(det)) // ray parallel to the triangle
+            return Double.POSITIVE_INFINITY;
+        double invDet = 1 / det;
+
+        double tx = ox - ax, ty = oy - ay, tz = oz - az;
+        double u = alignZero((tx * px + ty * py + tz * pz) * invDet);
+        if (u <= 0 || u >= 1)
+            return Double.POSITIVE_INFINITY;
+
+        // q = t x e1
+        double qx = ty * e1z - tz * e1y, qy = tz * e1x - tx * e1z, qz = tx * e1y - ty * e1x;
+        double v = alignZero((dx * qx + dy * qy + dz * qz) * invDet);
+        if (v <= 0 || alignZero(u + v - 1) >= 0)
+            return Double.POSITIVE_INFINITY;
+
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+        if (t <= 0 || alignZero(t - maxDistance) > 0)
+            return Double.POSITIVE_INFINITY;
+        if (uv != null) {
+            uv[0] = u;
+            uv[1] = v;
         }
-        return null;
+        return t;
     }
-}
\ No newline at end of file
+}
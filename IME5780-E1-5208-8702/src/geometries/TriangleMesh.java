@@ -0,0 +1,381 @@
+package geometries;
+
+import primitives.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * class TriangleMesh for indexed triangle mesh - the vertices are kept in one
+ * array of values and the faces in one array of vertex indices, with one
+ * material for the whole mesh and its own bounding volume hierarchy over the faces.
+ * The mesh is not a geometry by itself (the normal is defined per face) - the
+ * intersections refer to {@link Face} views of the mesh, made only for a hit.
+ * Memory of a mesh with F faces and V vertices (measured on a 1M faces grid, where V = F / 2):
+ * 24 bytes per vertex, 12 bytes per face for the indices and about 34 bytes per face
+ * for the hierarchy (1.04 nodes of 29 bytes per face and 4 bytes of order) -
+ * about 58 bytes per face, 58MB for 1M faces
+ *
+ * @author AhronS, IsraelN
+ */
+public class TriangleMesh implements Intersectable {
+    /**
+     * vertices values (x, y, z for every vertex) - the array is kept, not copied
+     */
+    private final double[] _vertices;
+    /**
+     * faces vertex indices (3 for every face) - the array is kept, not copied
+     */
+    private final int[] _faces;
+    private final Color _emission;
+    private final Material _material;
+    private final BVH _bvh;
+    private final BoundingBox _box;
+
+    // ****************************** Constructors *****************************/
+
+    /**
+     * TriangleMesh constructor with color and material
+     *
+     * @param emission emission color
+     * @param material material
+     * @param vertices vertices values - x, y, z of every vertex
+     * @param faces    faces - indices of the 3 vertices of every face
+     * @throws IllegalArgumentException if the arrays lengths are not multiple of 3,
+     *                                  there are no faces or a face refers to a missing vertex
+     */
+    public TriangleMesh(Color emission, Material material, double[] vertices, int[] faces) {
+        if (vertices.length % 3 != 0)
+            throw new IllegalArgumentException("mesh vertices must have 3 values each");
+        if (faces.length == 0 || faces.length % 3 != 0)
+            throw new IllegalArgumentException("mesh faces must have 3 vertices each");
+        int vertexCount = vertices.length / 3;
+        for (int index : faces)
+            if (index < 0 || index >= vertexCount)
+                throw new IllegalArgumentException("mesh face refers to a missing vertex");
+        _vertices = vertices;
+        _faces = faces;
+        _emission = emission;
+        _material = material;
+
+        int faceCount = faces.length / 3;
+        double[] boxes = new double[6 * faceCount];
+        for (int f = 0; f < faceCount; ++f)
+            for (int axis = 0; axis < 3; ++axis) {
+                double a = vertices[3 * faces[3 * f] + axis];
+                double b = vertices[3 * faces[3 * f + 1] + axis];
+                double c = vertices[3 * faces[3 * f + 2] + axis];
+                boxes[6 * f + axis] = Math.min(a, Math.min(b, c));
+                boxes[6 * f + axis + 3] = Math.max(a, Math.max(b, c));
+            }
+        _bvh = new BVH(boxes);
+
+        double[] bounds = new double[6];
+        for (int axis = 0; axis < 3; ++axis) {
+            bounds[axis] = Double.POSITIVE_INFINITY;
+            bounds[axis + 3] = Double.NEGATIVE_INFINITY;
+        }
+        for (int f = 0; f < faceCount; ++f)
+            for (int axis = 0; axis < 3; ++axis) {
+                bounds[axis] = Math.min(bounds[axis], boxes[6 * f + axis]);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], boxes[6 * f + axis + 3]);
+            }
+        _box = new BoundingBox(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+    }
+
+    /**
+     * TriangleMesh constructor with color
+     *
+     * @param emission emission color
+     * @param vertices vertices values - x, y, z of every vertex
+     * @param faces    faces - indices of the 3 vertices of every face
+     */
+    public TriangleMesh(Color emission, double[] vertices, int[] faces) {
+        this(emission, Material.DEFAULT, vertices, faces);
+    }
+
+    /**
+     * TriangleMesh constructor
+     *
+     * @param vertices vertices values - x, y, z of every vertex
+     * @param faces    faces - indices of the 3 vertices of every face
+     */
+    public TriangleMesh(double[] vertices, int[] faces) {
+        this(Color.BLACK, vertices, faces);
+    }
+
+    // ****************************** Getters *****************************//
+
+    /**
+     * TriangleMesh getter
+     *
+     * @return emission of the faces
+     */
+    public Color getEmission() {
+        return _emission;
+    }
+
+    /**
+     * TriangleMesh getter
+     *
+     * @return material of the faces
+     */
+    public Material getMaterial() {
+        return _material;
+    }
+
+    /**
+     * TriangleMesh getter
+     *
+     * @return amount of faces
+     */
+    public int getFaceCount() {
+        return _faces.length / 3;
+    }
+
+    /**
+     * TriangleMesh getter
+     *
+     * @param index face index
+     * @return a view of the face
+     */
+    public Face getFace(int index) {
+        if (index < 0 || index >= getFaceCount())
+            throw new IllegalArgumentException("mesh has no face " + index);
+        return new Face(index);
+    }
+
+    // ****************************** Overrides *****************************//
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return _box;
+    }
+
+    @Override
+    public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = new ArrayList<>();
+        Point3D p0 = ray.getP0();
+        Vector v = ray.getDir();
+        double ox = p0.getXValue(), oy = p0.getYValue(), oz = p0.getZValue();
+        double dx = v.getXValue(), dy = v.getYValue(), dz = v.getZValue();
+        _bvh.traverse(ray, maxDistance, (start, end, distance) -> {
+            for (int i = start; i < end; ++i) {
+                int face = _bvh._order[i];
+                double t = intersect(face, ox, oy, oz, dx, dy, dz, distance);
+                if (t != Double.POSITIVE_INFINITY)
+                    intersections.add(new GeoPoint(new Face(face), ray.getPoint(t)));
+            }
+            return distance;
+        });
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+        Point3D p0 = ray.getP0();
+        Vector v = ray.getDir();
+        double ox = p0.getXValue(), oy = p0.getYValue(), oz = p0.getZValue();
+        double dx = v.getXValue(), dy = v.getYValue(), dz = v.getZValue();
+        int[] closestFace = {-1};
+        double distance = _bvh.traverse(ray, maxDistance, (start, end, max) -> {
+            for (int i = start; i < end; ++i) {
+                int face = _bvh._order[i];
+                double t = intersect(face, ox, oy, oz, dx, dy, dz, max);
+                // equal distance (a shared edge) - the first face found is kept
+                if (t < max || closestFace[0] < 0 && t != Double.POSITIVE_INFINITY) {
+                    closestFace[0] = face;
+                    max = t;
+                }
+            }
+            return max;
+        });
+        return closestFace[0] < 0 ? null : new GeoPoint(new Face(closestFace[0]), ray.getPoint(distance), distance);
+    }
+
+    @Override
+    public boolean hasIntersection(Ray ray, double maxDistance) {
+        Point3D p0 = ray.getP0();
+        Vector v = ray.getDir();
+        double ox = p0.getXValue(), oy = p0.getYValue(), oz = p0.getZValue();
+        double dx = v.getXValue(), dy = v.getYValue(), dz = v.getZValue();
+        return _bvh.traverse(ray, maxDistance, (start, end, distance) -> {
+            for (int i = start; i < end; ++i)
+                if (intersect(_bvh._order[i], ox, oy, oz, dx, dy, dz, distance) != Double.POSITIVE_INFINITY)
+                    return BVH.STOP;
+            return distance;
+        }) == BVH.STOP;
+    }
+
+    @Override
+    public double findTransparency(Ray ray, double maxDistance, double ktr, double minK, Geometry[] occluder) {
+        double kT = _material.getKT();
+        if (kT != 0) {
+            List<GeoPoint> intersections = findIntersections(ray, maxDistance);
+            if (intersections == null)
+                return ktr;
+            for (int i = intersections.size(); i > 0; --i) {
+                ktr *= kT;
+                if (ktr < minK)
+                    return 0;
+            }
+            return ktr;
+        }
+
+        // opaque mesh - any intersection blocks the ray, the occluder is the blocking face
+        Point3D p0 = ray.getP0();
+        Vector v = ray.getDir();
+        double ox = p0.getXValue(), oy = p0.getYValue(), oz = p0.getZValue();
+        double dx = v.getXValue(), dy = v.getYValue(), dz = v.getZValue();
+        return _bvh.traverse(ray, maxDistance, (start, end, distance) -> {
+            for (int i = start; i < end; ++i) {
+                int face = _bvh._order[i];
+                if (intersect(face, ox, oy, oz, dx, dy, dz, distance) != Double.POSITIVE_INFINITY) {
+                    if (occluder != null)
+                        occluder[0] = new Face(face);
+                    return BVH.STOP;
+                }
+            }
+            return distance;
+        }) == BVH.STOP ? 0 : ktr;
+    }
+
+    // ****************************** Functions *****************************/
+
+    /**
+     * this func calc the distance from the ray head to the intersection with one face
+     * (by the triangle kernel, the edges are computed on the fly)
+     *
+     * @param face        face index
+     * @param ox          ray head x value
+     * @param oy          ray head y value
+     * @param oz          ray head z value
+     * @param dx          ray direction x value
+     * @param dy          ray direction y value
+     * @param dz          ray direction z value
+     * @param maxDistance max of the dist
+     * @return the distance, or positive infinity if there is no intersection within max distance
+     */
+    private double intersect(int face, double ox, double oy, double oz,
+                             double dx, double dy, double dz, double maxDistance) {
+        int a = 3 * _faces[3 * face], b = 3 * _faces[3 * face + 1], c = 3 * _faces[3 * face + 2];
+        double ax = _vertices[a], ay = _vertices[a + 1], az = _vertices[a + 2];
+        return Triangle.intersect(ox, oy, oz, dx, dy, dz, ax, ay, az,
+                _vertices[b] - ax, _vertices[b + 1] - ay, _vertices[b + 2] - az,
+                _vertices[c] - ax, _vertices[c + 1] - ay, _vertices[c + 2] - az,
+                maxDistance, null);
+    }
+
+    /**
+     * class Face - one face of the mesh, with the material and emission of the mesh.
+     * It is a light weight view on the mesh arrays (made only by the mesh for a hit),
+     * the views of a face are equal
+     */
+    public class Face extends Geometry {
+        private final int _index;
+
+        // ****************************** Constructors *****************************/
+
+        /**
+         * Face constructor
+         *
+         * @param index face index
+         */
+        private Face(int index) {
+            super(TriangleMesh.this._emission, TriangleMesh.this._material);
+            _index = index;
+        }
+
+        // ****************************** Getters *****************************//
+
+        /**
+         * Face getter
+         *
+         * @return face index in the mesh
+         */
+        public int getIndex() {
+            return _index;
+        }
+
+        /**
+         * Face getter
+         *
+         * @return the mesh of the face
+         */
+        public TriangleMesh getMesh() {
+            return TriangleMesh.this;
+        }
+
+        /**
+         * Face getter
+         *
+         * @param corner 0, 1 or 2
+         * @return the vertex of the face
+         */
+        public Point3D getVertex(int corner) {
+            int v = 3 * _faces[3 * _index + corner];
+            return new Point3D(_vertices[v], _vertices[v + 1], _vertices[v + 2]);
+        }
+
+        // ****************************** Overrides *****************************//
+
+        @Override
+        public Vector getNormal(Point3D point3D) {
+            Point3D a = getVertex(0);
+            return getVertex(1).subtract(a).crossProduct(getVertex(2).subtract(a)).normalize();
+        }
+
+        @Override
+        public BoundingBox getBoundingBox() {
+            return new BoundingBox(getVertex(0), getVertex(1), getVertex(2));
+        }
+
+        @Override
+        public List<GeoPoint> findIntersections(Ray ray, double maxDistance) {
+            double t = intersectionDistance(ray, maxDistance);
+            if (t == Double.POSITIVE_INFINITY)
+                return null;
+            return List.of(new GeoPoint(this, ray.getPoint(t)));
+        }
+
+        @Override
+        public GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+            double t = intersectionDistance(ray, maxDistance);
+            if (t == Double.POSITIVE_INFINITY)
+                return null;
+            return new GeoPoint(this, ray.getPoint(t), t);
+        }
+
+        @Override
+        public boolean hasIntersection(Ray ray, double maxDistance) {
+            return intersectionDistance(ray, maxDistance) != Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * this func calc the distance from the ray head to the intersection with the face
+         *
+         * @param ray         ray
+         * @param maxDistance max of the dist
+         * @return the distance, or positive infinity if there is no intersection within max distance
+         */
+        private double intersectionDistance(Ray ray, double maxDistance) {
+            Point3D p0 = ray.getP0();
+            Vector v = ray.getDir();
+            return intersect(_index, p0.getXValue(), p0.getYValue(), p0.getZValue(),
+                    v.getXValue(), v.getYValue(), v.getZValue(), maxDistance);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Face)) return false;
+            Face face = (Face) o;
+            return _index == face._index && getMesh() == face.getMesh();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(getMesh()) + _index;
+        }
+    }
+}
@@ -13,14 +13,18 @@ public class Color {
      * The internal fields tx`o maintain RGB components as double numbers from 0 to
      * whatever...
      */
-    private double _r = 0.0, _g = 0.0, _b = 0.0;
+    private final double _r, _g, _b;
 
     public final static Color BLACK = new Color();
 
     /**
      * Default constructor - to generate Black Color (privately)
      */
-    private Color() {}
+    private Color() {
+        _r = 0.0;
+        _g = 0.0;
+        _b = 0.0;
+    }
 
     /**
      * Constructor to generate a color according to RGB components Each component in
@@ -60,62 +64,6 @@ public class Color {
         _b = other.getBlue();
     }
 
-    /**
-     * Color setter to reset the color to BLACK
-     * 
-     * @return the Color object itself for chaining calls
-     */
-    public Color setColor() {
-        _r = 0.0;
-        _g = 0.0;
-        _b = 0.0;
-        return this;
-    }
-
-    /**
-     * Color setter to generate a color according to RGB components Each component
-     * in range 0..255 (for printed white color) or more [for lights]
-     * 
-     * @param r Red component
-     * @param g Green component
-     * @param b Blue component
-     * @return the Color object itself for chaining calls
-     */
-    public Color setColor(double r, double g, double b) {
-        if (r < 0 || g < 0 || b < 0)
-            throw new IllegalArgumentException("Negative color component is illegal");
-        _r = r;
-        _g = g;
-        _b = b;
-        return this;
-    }
-
-    /**
-     * Color setter to copy RGB components from another color
-     *
-     * @param other source Color object
-     * @return the Color object itself for chaining calls
-     */
-    public Color setColor(Color other) {
-        _r = other._r;
-        _g = other._g;
-        _b = other._b;
-        return this;
-    }
-
-    /**
-     * Color setter to take components from an base of java.awt.Color object
-     *
-     * @param other java.awt.Color's source object
-     * @return the Color object itself for chaining calls
-     */
-    public Color setColor(java.awt.Color other) {
-        _r = other.getRed();
-        _g = other.getGreen();
-        _b = other.getBlue();
-        return this;
-    }
-
     /**
      * Color getter - returns the color after converting it into java.awt.Color
      * object During the conversion any component bigger than 255 is set to 255
@@ -127,6 +75,15 @@ public class Color {
         return new java.awt.Color(r > 255 ? 255 : r, g > 255 ? 255 : g, b > 255 ? 255 : b);
     }
 
+    /**
+     * Color getter - the strongest component (before the conversion to java.awt.Color)
+     *
+     * @return the largest of the RGB components
+     */
+    public double getMax() {
+        return Math.max(_r, Math.max(_g, _b));
+    }
+
     /**
      * Operation of adding this and one or more other colors (by component)
      *
@@ -172,4 +129,24 @@ public class Color {
         return new Color(r, g, b);
     }
 
+    // ****************************** Overrides *****************************/
+
+    /**
+     * equal colors have exactly the same components (used to share equal emissions,
+     * a color can not be changed after it is made)
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Color)) return false;
+        Color color = (Color) o;
+        return Double.compare(_r, color._r) == 0
+                && Double.compare(_g, color._g) == 0
+                && Double.compare(_b, color._b) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Double.hashCode(_r) + Double.hashCode(_g)) + Double.hashCode(_b);
+    }
 }
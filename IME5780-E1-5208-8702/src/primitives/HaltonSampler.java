@@ -0,0 +1,40 @@
+package primitives;
+
+/**
+ * class HaltonSampler - the Halton sequence (radical inverses in bases 2 and 3).
+ * Every prefix of the sequence covers the square evenly, so the samples can be
+ * added one by one. The sequence is scrambled by a random toroidal shift
+ * (Cranley-Patterson rotation)
+ *
+ * @author AhronS, IsraelN
+ */
+public class HaltonSampler implements Sampler {
+
+    @Override
+    public void get2D(int index, long scramble, double[] point) {
+        double u = radicalInverse(2, index);
+        double v = radicalInverse(3, index);
+        if (scramble != 0) {
+            u += Sampler.random(scramble, 0);
+            v += Sampler.random(scramble, 1);
+            if (u >= 1) u -= 1;
+            if (v >= 1) v -= 1;
+        }
+        point[0] = u;
+        point[1] = v;
+    }
+
+    /**
+     * radical inverse of an index - its digits mirrored around the fraction point
+     *
+     * @param base  the digits base
+     * @param index the index
+     * @return the radical inverse in [0, 1)
+     */
+    public static double radicalInverse(int base, int index) {
+        double inverse = 0, digitValue = 1d / base;
+        for (; index > 0; index /= base, digitValue /= base)
+            inverse += (index % base) * digitValue;
+        return inverse;
+    }
+}
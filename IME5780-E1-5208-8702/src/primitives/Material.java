@@ -4,8 +4,8 @@ package primitives;
  * class Material for material of geometries
  */
 public class Material {
-    private double _kT;
-    private double _kR;
+    private final double _kT;
+    private final double _kR;
     private final double _kD;
     private final double _kS;
     private final int _nShininess;
@@ -96,4 +96,30 @@ public class Material {
     public int getNShininess() {
         return _nShininess;
     }
+
+    // ****************************** Overrides *****************************//
+
+    /**
+     * equal materials have exactly the same factors (used to share equal materials)
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Material)) return false;
+        Material material = (Material) o;
+        return Double.compare(_kD, material._kD) == 0
+                && Double.compare(_kS, material._kS) == 0
+                && _nShininess == material._nShininess
+                && Double.compare(_kT, material._kT) == 0
+                && Double.compare(_kR, material._kR) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(_kD);
+        result = 31 * result + Double.hashCode(_kS);
+        result = 31 * result + _nShininess;
+        result = 31 * result + Double.hashCode(_kT);
+        return 31 * result + Double.hashCode(_kR);
+    }
 }
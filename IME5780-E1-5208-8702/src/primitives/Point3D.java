@@ -1,14 +1,21 @@
 package primitives;
 
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
 /**
  * class Point3D for describe coordinates
  *
  * @author AhronS, IsraelN
  */
 public class Point3D {
-    private Coordinate _x;
-    private Coordinate _y;
-    private Coordinate _z;
+    /**
+     * Coordinate values, intentionally "package-friendly" due to performance
+     * constraints
+     */
+    final double _x;
+    final double _y;
+    final double _z;
 
     /**
      * const Zero point
@@ -25,9 +32,7 @@ public class Point3D {
      * @param _z point on z scale
      */
     public Point3D(Coordinate _x, Coordinate _y, Coordinate _z) {
-        this._x = _x;
-        this._y = _y;
-        this._z = _z;
+        this(_x._coord, _y._coord, _z._coord);
     }
 
     /**
@@ -38,7 +43,10 @@ public class Point3D {
      * @param _z point on z scale
      */
     public Point3D(double _x, double _y, double _z) {
-        this(new Coordinate(_x), new Coordinate(_y), new Coordinate(_z));
+        // if it too close to zero make it zero
+        this._x = alignZero(_x);
+        this._y = alignZero(_y);
+        this._z = alignZero(_z);
     }
 
     /**
@@ -60,7 +68,7 @@ public class Point3D {
      * @return x value
      */
     public Coordinate getX() {
-        return _x;
+        return new Coordinate(_x);
     }
 
     /**
@@ -69,7 +77,7 @@ public class Point3D {
      * @return y value
      */
     public Coordinate getY() {
-        return _y;
+        return new Coordinate(_y);
     }
 
     /**
@@ -78,6 +86,33 @@ public class Point3D {
      * @return z value
      */
     public Coordinate getZ() {
+        return new Coordinate(_z);
+    }
+
+    /**
+     * Point3D value getter (without Coordinate object)
+     *
+     * @return x value
+     */
+    public double getXValue() {
+        return _x;
+    }
+
+    /**
+     * Point3D value getter (without Coordinate object)
+     *
+     * @return y value
+     */
+    public double getYValue() {
+        return _y;
+    }
+
+    /**
+     * Point3D value getter (without Coordinate object)
+     *
+     * @return z value
+     */
+    public double getZValue() {
         return _z;
     }
 
@@ -91,9 +126,9 @@ public class Point3D {
      */
     public Vector subtract(Point3D vertex) {
         return new Vector(
-                this._x._coord - vertex._x._coord,
-                this._y._coord - vertex._y._coord,
-                this._z._coord - vertex._z._coord
+                this._x - vertex._x,
+                this._y - vertex._y,
+                this._z - vertex._z
         );
     }
 
@@ -105,9 +140,9 @@ public class Point3D {
      */
     public Point3D add(Vector vector) {
         return new Point3D(
-                this._x._coord + vector.getHead()._x._coord,
-                this._y._coord + vector.getHead()._y._coord,
-                this._z._coord + vector.getHead()._z._coord);
+                this._x + vector._x,
+                this._y + vector._y,
+                this._z + vector._z);
     }
 
     /**
@@ -117,11 +152,10 @@ public class Point3D {
      * @return the pow of distance from p2p
      */
     public double distanceSquared(Point3D point3D) {
-        Vector vector = new Vector(this.subtract(point3D));
-        double x2 = vector.getHead()._x._coord * vector.getHead()._x._coord;
-        double y2 = vector.getHead()._y._coord * vector.getHead()._y._coord;
-        double z2 = vector.getHead()._z._coord * vector.getHead()._z._coord;
-        return x2 + y2 + z2;
+        double dx = this._x - point3D._x;
+        double dy = this._y - point3D._y;
+        double dz = this._z - point3D._z;
+        return dx * dx + dy * dy + dz * dz;
     }
 
     /**
@@ -141,9 +175,9 @@ public class Point3D {
         if (o == null) return false;
         if (!(o instanceof Point3D)) return false;
         Point3D point3D = (Point3D) o;
-        return _x.equals(point3D._x)
-                && _y.equals(point3D._y)
-                && _z.equals(point3D._z);
+        return isZero(_x - point3D._x)
+                && isZero(_y - point3D._y)
+                && isZero(_z - point3D._z);
     }
 
     @Override
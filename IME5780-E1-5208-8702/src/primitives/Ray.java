@@ -1,8 +1,11 @@
 package primitives;
 
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
@@ -81,7 +84,13 @@ public class Ray {
      * @ length to scale
      */
     public Point3D getPoint(double length) {
-        return isZero(length) ? _p0 : _p0.add(_dir.scale(length));
+        if (isZero(length))
+            return _p0;
+        // same as _p0.add(_dir.scale(length)) without the intermediate vector
+        return new Point3D(
+                _p0._x + alignZero(_dir._x * length),
+                _p0._y + alignZero(_dir._y * length),
+                _p0._z + alignZero(_dir._z * length));
     }
 
     /**
@@ -96,22 +105,90 @@ public class Ray {
      */
     public List<Ray> focalRays(double apertureSize, int numOfDOFRays, Point3D focalPoint, Vector vUp, Vector vRight) {
         List<Ray> raysList = new LinkedList<>();
-        raysList.add(this);
+        for (Iterator<Ray> rays = focalRaysIterator(apertureSize, numOfDOFRays, focalPoint, vUp, vRight); rays.hasNext(); )
+            raysList.add(rays.next());
+        return raysList;
+    }
+
+    /**
+     * this func create the rays of focalRays lazily - every ray is created only
+     * when it is requested, in the same order and with the same values
+     *
+     * @param apertureSize aperture Size
+     * @param numOfDOFRays num Of DOF Rays
+     * @param focalPoint focalPoint
+     * @param vUp vec up
+     * @param vRight vec right
+     * @return iterator of the rays
+     */
+    public Iterator<Ray> focalRaysIterator(double apertureSize, int numOfDOFRays, Point3D focalPoint, Vector vUp, Vector vRight) {
         if (Util.isZero(apertureSize) || numOfDOFRays <= 1)
-            return raysList;
+            return new FocalRays(this, 0, 0, focalPoint, vUp, vRight);
         int loopLength = (int) Math.sqrt(numOfDOFRays);
-        double factor = apertureSize / loopLength;
-        //first location
-        Point3D p0 = this._p0.add(vUp.scale(-apertureSize / 2)).add(vRight.scale(-apertureSize / 2));
-        for (int i = 1; i <= loopLength; i++) {
-            for (int j = 1; j <= loopLength; j++) {
-                Vector vUpAxis = vUp.scale(i * factor);
-                Vector vRightAxis = vRight.scale(j * factor);
-                Point3D currentPoint = p0.add(vUpAxis).add(vRightAxis);
-                raysList.add(new Ray(currentPoint, focalPoint.subtract(currentPoint)));
+        return new FocalRays(this, loopLength, apertureSize, focalPoint, vUp, vRight);
+    }
+
+    /**
+     * class FocalRays - iterator of the depth of field rays: the center ray and then
+     * the aperture grid by rows
+     */
+    private static final class FocalRays implements Iterator<Ray> {
+        private final Ray _centerRay;
+        private final int _loopLength;
+        private final double _factor;
+        private final Point3D _focalPoint;
+        private final Vector _vUp, _vRight;
+        // the first grid location
+        private final Point3D _p0;
+        // next ray index: 0 for the center ray, then the grid
+        private int _next;
+
+        /**
+         * FocalRays constructor
+         *
+         * @param centerRay    the center ray
+         * @param loopLength   the grid edge (0 for only the center ray)
+         * @param apertureSize aperture Size
+         * @param focalPoint   focalPoint
+         * @param vUp          vec up
+         * @param vRight       vec right
+         */
+        private FocalRays(Ray centerRay, int loopLength, double apertureSize, Point3D focalPoint, Vector vUp, Vector vRight) {
+            _centerRay = centerRay;
+            _loopLength = loopLength;
+            _focalPoint = focalPoint;
+            _vUp = vUp;
+            _vRight = vRight;
+            if (loopLength == 0) {
+                _factor = 0;
+                _p0 = null;
+            } else {
+                _factor = apertureSize / loopLength;
+                _p0 = centerRay._p0.add(vUp.scale(-apertureSize / 2)).add(vRight.scale(-apertureSize / 2));
             }
         }
-        return raysList;
+
+        @Override
+        public boolean hasNext() {
+            return _next <= _loopLength * _loopLength;
+        }
+
+        @Override
+        public Ray next() {
+            if (!hasNext())
+                throw new NoSuchElementException("no more focal rays");
+            int index = _next++;
+            if (index == 0)
+                return _centerRay;
+            int i = (index - 1) / _loopLength + 1, j = (index - 1) % _loopLength + 1;
+            // p0 + vUp * (i * factor) + vRight * (j * factor) - aligned to zero as by the Vector and Point3D operations
+            double up = i * _factor, right = j * _factor;
+            double x = alignZero(alignZero(_p0._x + alignZero(_vUp._x * up)) + alignZero(_vRight._x * right));
+            double y = alignZero(alignZero(_p0._y + alignZero(_vUp._y * up)) + alignZero(_vRight._y * right));
+            double z = alignZero(alignZero(_p0._z + alignZero(_vUp._z * up)) + alignZero(_vRight._z * right));
+            Point3D currentPoint = new Point3D(x, y, z);
+            return new Ray(currentPoint, _focalPoint.subtract(currentPoint));
+        }
     }
 
     /****************************** Overrides *****************************/
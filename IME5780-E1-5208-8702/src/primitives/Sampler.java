@@ -0,0 +1,57 @@
+package primitives;
+
+/**
+ * interface Sampler - sequence of 2D sample points in the unit square [0, 1) x [0, 1)
+ * for the multi sample calculations (camera aperture, area lights, glossy surfaces).
+ * A sampler has no state: the same index and scramble give always the same point,
+ * so it may be shared by the rendering threads. A different scramble (e.g. for
+ * every pixel) gives a different point set of the same quality
+ *
+ * @author AhronS, IsraelN
+ */
+public interface Sampler {
+    /**
+     * calc a point of the sequence
+     *
+     * @param index    index of the point (from 0)
+     * @param scramble scramble of the sequence, 0 for the sequence itself
+     * @param point    array of 2 values for the result (u, v)
+     */
+    void get2D(int index, long scramble, double[] point);
+
+    /**
+     * scramble of a pixel, deterministic for the seed
+     *
+     * @param seed the seed of the image
+     * @param j    pixel column
+     * @param i    pixel row
+     * @return the scramble (not 0)
+     */
+    static long scramble(long seed, int j, int i) {
+        long scramble = mix(seed + (((long) i << 32) | (j & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L);
+        return scramble == 0 ? 1 : scramble;
+    }
+
+    /**
+     * uniform value derived from a scramble
+     *
+     * @param scramble the scramble
+     * @param stream   index of the value (different values for the same scramble)
+     * @return value in [0, 1)
+     */
+    static double random(long scramble, int stream) {
+        return (mix(scramble + (stream + 1) * 0x9E3779B97F4A7C15L) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * bits mixing function of SplitMix64
+     *
+     * @param z the value
+     * @return the mixed value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,32 @@
+package primitives;
+
+/**
+ * class SobolSampler - the first two dimensions of the Sobol sequence (the base 2
+ * radical inverse and its (0,2) companion). Every 2^k samples prefix has one sample
+ * in each of the 2^k elementary intervals of every shape. The sequence is scrambled
+ * by random digits (xor of the 32 bits values), which keeps that property
+ *
+ * @author AhronS, IsraelN
+ */
+public class SobolSampler implements Sampler {
+
+    @Override
+    public void get2D(int index, long scramble, double[] point) {
+        int u = Integer.reverse(index), v = 0;
+        for (int direction = 1 << 31; index != 0; index >>>= 1, direction ^= direction >>> 1)
+            if ((index & 1) != 0)
+                v ^= direction;
+        point[0] = toUnit(u ^ (int) scramble);
+        point[1] = toUnit(v ^ (int) (scramble >>> 32));
+    }
+
+    /**
+     * the 32 bits fraction value of an int
+     *
+     * @param bits the fraction bits
+     * @return value in [0, 1)
+     */
+    private static double toUnit(int bits) {
+        return (bits & 0xFFFFFFFFL) * 0x1.0p-32;
+    }
+}
@@ -0,0 +1,36 @@
+package primitives;
+
+/**
+ * class StratifiedSampler - the square is split into a grid of cells and every
+ * sample is in its own cell (row after row). The sample is the cell center in the
+ * original sequence and a random point of the cell in a scrambled one (jittering)
+ *
+ * @author AhronS, IsraelN
+ */
+public class StratifiedSampler implements Sampler {
+    private final int _size;
+
+    /**
+     * constructor of a sampler for an amount of samples, the grid is the smallest
+     * square grid with a cell for every sample
+     *
+     * @param samples amount of samples
+     */
+    public StratifiedSampler(int samples) {
+        if (samples <= 0)
+            throw new IllegalArgumentException("amount of samples must be positive");
+        _size = (int) Math.ceil(Math.sqrt(samples));
+    }
+
+    @Override
+    public void get2D(int index, long scramble, double[] point) {
+        int cell = index % (_size * _size);
+        double u = 0.5, v = 0.5;
+        if (scramble != 0) {
+            u = Sampler.random(scramble, 2 * index);
+            v = Sampler.random(scramble, 2 * index + 1);
+        }
+        point[0] = (cell % _size + u) / _size;
+        point[1] = (cell / _size + v) / _size;
+    }
+}
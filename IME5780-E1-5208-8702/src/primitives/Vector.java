@@ -1,12 +1,21 @@
 package primitives;
 
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
 /**
  * class Vector for describe a vector when the begin point is 0,0,0
  *
  * @author AhronS, IsraelN
  */
 public class Vector {
-    private Point3D _head;
+    /**
+     * Head coordinate values, intentionally "package-friendly" due to performance
+     * constraints (not final - normalize() changes the vector itself)
+     */
+    double _x;
+    double _y;
+    double _z;
 
     // ****************************** Constructors *****************************/
 
@@ -18,9 +27,7 @@ public class Vector {
      * @param _z coordinate on z scale
      */
     public Vector(Coordinate _x, Coordinate _y, Coordinate _z) {
-        if (new Point3D(_x, _y, _z).equals(Point3D.ZERO))
-            throw new IllegalArgumentException("vector can not be 0");
-        this._head = new Point3D(_x, _y, _z);
+        this(_x._coord, _y._coord, _z._coord);
     }
 
     /**
@@ -31,10 +38,12 @@ public class Vector {
      * @param _z point on z scale
      */
     public Vector(double _x, double _y, double _z) {
-        Point3D point3D = new Point3D(_x, _y, _z);
-        if (point3D.equals(Point3D.ZERO))
+        // if it too close to zero make it zero
+        this._x = alignZero(_x);
+        this._y = alignZero(_y);
+        this._z = alignZero(_z);
+        if (this._x == 0 && this._y == 0 && this._z == 0)
             throw new IllegalArgumentException("vector can not be 0");
-        this._head = point3D;
     }
 
     /**
@@ -43,9 +52,7 @@ public class Vector {
      * @param point3D as Point3D
      */
     public Vector(Point3D point3D) {
-        if (point3D.equals(Point3D.ZERO))
-            throw new IllegalArgumentException("vector can not be 0");
-        this._head = point3D;
+        this(point3D._x, point3D._y, point3D._z);
     }
 
     /**
@@ -54,7 +61,9 @@ public class Vector {
      * @param other as Vector type
      */
     public Vector(Vector other) {
-        this._head = other._head;
+        this._x = other._x;
+        this._y = other._y;
+        this._z = other._z;
     }
 
     // ****************************** Getters *****************************/
@@ -65,7 +74,34 @@ public class Vector {
      * @return head point
      */
     public Point3D getHead() {
-        return _head;
+        return new Point3D(_x, _y, _z);
+    }
+
+    /**
+     * vector head value getter (without Point3D object)
+     *
+     * @return x value
+     */
+    public double getXValue() {
+        return _x;
+    }
+
+    /**
+     * vector head value getter (without Point3D object)
+     *
+     * @return y value
+     */
+    public double getYValue() {
+        return _y;
+    }
+
+    /**
+     * vector head value getter (without Point3D object)
+     *
+     * @return z value
+     */
+    public double getZValue() {
+        return _z;
     }
 
     // ****************************** Functions *****************************/
@@ -78,9 +114,9 @@ public class Vector {
      */
     public Vector add(Vector vector) {
         return new Vector(
-                this._head.getX()._coord + vector._head.getX()._coord,
-                this._head.getY()._coord + vector._head.getY()._coord,
-                this._head.getZ()._coord + vector._head.getZ()._coord);
+                this._x + vector._x,
+                this._y + vector._y,
+                this._z + vector._z);
     }
 
     /**
@@ -91,9 +127,9 @@ public class Vector {
      */
     public Vector subtract(Vector vector) {
         return new Vector(
-                this._head.getX()._coord - vector._head.getX()._coord,
-                this._head.getY()._coord - vector._head.getY()._coord,
-                this._head.getZ()._coord - vector._head.getZ()._coord);
+                this._x - vector._x,
+                this._y - vector._y,
+                this._z - vector._z);
     }
 
     /**
@@ -104,9 +140,9 @@ public class Vector {
      */
     public Vector scale(double scalar) {
         return new Vector(
-                this._head.getX()._coord * scalar,
-                this._head.getY()._coord * scalar,
-                this._head.getZ()._coord * scalar);
+                this._x * scalar,
+                this._y * scalar,
+                this._z * scalar);
     }
 
     /**
@@ -116,9 +152,9 @@ public class Vector {
      * @return the result as double
      */
     public double dotProduct(Vector vector) {
-        return vector._head.getX()._coord * this._head.getX()._coord +
-                vector._head.getY()._coord * this._head.getY()._coord +
-                vector._head.getZ()._coord * this._head.getZ()._coord;
+        return vector._x * this._x +
+                vector._y * this._y +
+                vector._z * this._z;
     }
 
     /**
@@ -128,12 +164,12 @@ public class Vector {
      * @return the result as vector
      */
     public Vector crossProduct(Vector vector) {
-        double u1 = this._head.getX()._coord;
-        double u2 = this._head.getY()._coord;
-        double u3 = this._head.getZ()._coord;
-        double v1 = vector._head.getX()._coord;
-        double v2 = vector._head.getY()._coord;
-        double v3 = vector._head.getZ()._coord;
+        double u1 = this._x;
+        double u2 = this._y;
+        double u3 = this._z;
+        double v1 = vector._x;
+        double v2 = vector._y;
+        double v3 = vector._z;
         return (new Vector(
                 u2 * v3 - u3 * v2,
                 u3 * v1 - u1 * v3,
@@ -146,10 +182,10 @@ public class Vector {
      *
      * @return the pow vector length
      */
-    public Double lengthSquared() {
-        return (this._head.getX()._coord * this._head.getX()._coord +
-                this._head.getY()._coord * this._head.getY()._coord +
-                this._head.getZ()._coord * this._head.getZ()._coord);
+    public double lengthSquared() {
+        return (this._x * this._x +
+                this._y * this._y +
+                this._z * this._z);
     }
 
     /**
@@ -157,7 +193,7 @@ public class Vector {
      *
      * @return length of vector
      */
-    public Double length() {
+    public double length() {
         return Math.sqrt(this.lengthSquared());
     }
 
@@ -167,10 +203,10 @@ public class Vector {
      * @return the normal vector
      */
     public Vector normalize() {
-        Point3D point3D = new Point3D(this._head.getX()._coord / this.length(),
-                this._head.getY()._coord / this.length(),
-                this._head.getZ()._coord / this.length());
-        this._head = point3D;
+        double length = this.length();
+        this._x = alignZero(this._x / length);
+        this._y = alignZero(this._y / length);
+        this._z = alignZero(this._z / length);
         return this;
     }
 
@@ -193,13 +229,15 @@ public class Vector {
         if (!(o instanceof Vector))
             return false;
         Vector vector = (Vector) o;
-        return this._head.equals(vector._head);
+        return isZero(this._x - vector._x)
+                && isZero(this._y - vector._y)
+                && isZero(this._z - vector._z);
     }
 
     @Override
     public String toString() {
         return "Vector{" +
-                "_head=" + _head +
+                "_head=" + getHead() +
                 '}';
     }
 }
@@ -64,6 +64,12 @@ public class ImageWriter {
      */
 	public int getNx() { return _nX; }
 
+	/**
+	 * Pixel color matrix getter
+	 * @return the RGB values of the pixels row by row
+	 */
+	public int[] getPixels() { return _image.getRGB(0, 0, _nX, _nY, null, 0, _nX); }
+
 	// ********************** Functions ********************** //
 
 	/**
@@ -1,13 +1,25 @@
 package renderer;
 
+import elements.AreaLight;
+import elements.LightBVH;
+import elements.LightSample;
 import elements.LightSource;
 import geometries.Intersectable.GeoPoint;
 import elements.Camera;
 import geometries.*;
 import primitives.*;
+import scene.RenderScene;
 import scene.Scene;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static primitives.Util.alignZero;
 
@@ -18,13 +30,53 @@ import static primitives.Util.alignZero;
  */
 public class Render {
     private ImageWriter _imageWriter;
+    // the scene, compiled again only after it was changed (null - the render got a compiled scene)
     private Scene _scene;
+    // the compiled scene of the rendering
+    private RenderScene _renderScene;
     /**
      * const to use with move rays head for shadow rays
      */
     private static final double DELTA = 0.1;
     private static final int MAX_CALC_COLOR_LEVEL = 10;
+    // stages of a rays tree frame (0 - before the reflected ray)
+    private static final int REFLECTION_DONE = 1;
+    private static final int REFRACTION_DONE = 2;
     private static final double MIN_CALC_COLOR_K = 0.001;
+    private static final int DEFAULT_TILE_SIZE = 32;
+    // amount of rendering threads, 1 for the serial rendering
+    private int _threads = 1;
+    // tile edge size (in pixels) for the parallel rendering
+    private int _tileSize = DEFAULT_TILE_SIZE;
+    // recursion levels limit of the rays tree
+    private int _maxCalcColorLevel = MAX_CALC_COLOR_LEVEL;
+    // russian roulette: branches with a factor below the threshold survive by chance (0 - off)
+    private double _rouletteThreshold = 0;
+    private long _rouletteSeed;
+    // adaptive depth of field: minimal rays per pixel (0 - off) and the color variance to stop at
+    private int _adaptiveDOFMinRays = 0;
+    private double _adaptiveDOFMaxVariance;
+    // sampler of the depth of field aperture (null - the rays grid, or the camera Halton points when adaptive)
+    private Sampler _sampler;
+    private long _samplerSeed;
+    // adaptive anti aliasing: subdivision levels of a pixel (0 - off) and the corners color difference to subdivide at
+    private int _antiAliasingLevels = 0;
+    private int _antiAliasingThreshold;
+    // rays tree stack of every rendering thread
+    private final ThreadLocal<TraceContext> _context = ThreadLocal.withInitial(TraceContext::new);
+    // the lights hierarchy of the rendering (null - all the lights are evaluated)
+    private LightBVH _lightBVH;
+    // light intensity (strongest color component) under which the lights hierarchy skips a light
+    private double _lightCutoff = 0;
+    // per tile light lists for the camera rays hits (see TileLights)
+    private boolean _tileLightCulling = false;
+    private TileLights _tileLights;
+    // test the last opaque geometry that blocked a shadow ray of a light first (per thread)
+    private boolean _occluderCache = false;
+    // the view plane of the last rendering, prepared again only when the camera or the view plane change
+    private Camera.Projection _projection;
+    // counters of the last (or the current) rendering
+    private RenderStatistics _statistics = new RenderStatistics();
 
     // ********************** Constructors ********************** //
 
@@ -40,28 +92,202 @@ public class Render {
     }
 
     /**
-     * check if have shadow or not
+     * constructor render of a compiled scene (the same compiled scene may be
+     * rendered by many renders)
      *
-     * @param light    light source
-     * @param l        light vector
-     * @param n        normal vector
-     * @param geoPoint geoPoint
-     * @return pos/neg
+     * @param imageWriter imageWriter object
+     * @param scene       the compiled scene to rend
      */
-    private boolean unshaded(LightSource light, Vector l, Vector n, GeoPoint geoPoint) {
-        Vector lightDirection = l.scale(-1); // from point to light source
-        Ray lightRay = new Ray(geoPoint.point, lightDirection, n);
-        Point3D point = geoPoint.point;
-        List<GeoPoint> intersections = _scene.getGeometries().findIntersections(lightRay);
-        if (intersections == null)
-            return true;
-        double lightDistance = light.getDistance(point);
-        for (GeoPoint gp : intersections) {
-            double t = gp.point.distance(point) - lightDistance;
-            if (alignZero(t) <= 0 && gp.geometry.getMaterial().getKT() == 0)
-                return false;
+    public Render(ImageWriter imageWriter, RenderScene scene) {
+        this._imageWriter = imageWriter;
+        this._renderScene = scene;
+    }
+
+    // ********************** Setters ********************** //
+
+    /**
+     * Render setter for the amount of rendering threads.
+     * With more than one thread the image is split to tiles that are rendered
+     * in parallel, the result is identical to the serial rendering
+     *
+     * @param threads amount of threads (1 for serial rendering)
+     */
+    public void setThreads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("amount of threads must be at least 1");
+        _threads = threads;
+    }
+
+    /**
+     * Render setter for the tile size of the parallel rendering
+     *
+     * @param tileSize tile width and height in pixels
+     */
+    public void setTileSize(int tileSize) {
+        if (tileSize < 1)
+            throw new IllegalArgumentException("tile size must be at least 1 pixel");
+        _tileSize = tileSize;
+    }
+
+    /**
+     * Render setter for the recursion levels limit of the reflected and refracted rays
+     * (the rays tree is evaluated without recursion, so the limit may be high)
+     *
+     * @param maxLevel levels limit (the default is 10)
+     */
+    public void setMaxCalcColorLevel(int maxLevel) {
+        if (maxLevel < 1)
+            throw new IllegalArgumentException("max calc color level must be at least 1");
+        _maxCalcColorLevel = maxLevel;
+    }
+
+    /**
+     * Render setter for the russian roulette termination of the rays tree.
+     * A reflected or refracted ray whose color factor is below the threshold is
+     * traced only with probability factor/threshold, and then its color is scaled
+     * up by the inverse probability - the expected image is unchanged while the
+     * weak branches are cut. The random numbers are seeded for every pixel, so the
+     * image depends only on the seed (not on the threads)
+     *
+     * @param threshold the factor below which the roulette is played (0 - off)
+     * @param seed      the random seed
+     */
+    public void setRussianRoulette(double threshold, long seed) {
+        if (threshold != 0 && (threshold <= MIN_CALC_COLOR_K || threshold > 1))
+            throw new IllegalArgumentException("russian roulette threshold must be 0 or in (" + MIN_CALC_COLOR_K + ", 1]");
+        _rouletteThreshold = threshold;
+        _rouletteSeed = seed;
+    }
+
+    /**
+     * Render setter for adaptive depth of field sampling. Every pixel starts with
+     * the minimal amount of aperture rays, more rays are added one by one while the
+     * variance of the rays colors (on 0..255 scale, the largest of the channels) is
+     * above the limit, up to the amount of depth of field rays of the camera.
+     * It has no effect with a camera without depth of field
+     *
+     * @param minRays     minimal amount of rays per pixel (0 - off, the full rays grid)
+     * @param maxVariance the color variance under which no more rays are added
+     */
+    public void setAdaptiveDOF(int minRays, double maxVariance) {
+        if (minRays != 0 && minRays < 2)
+            throw new IllegalArgumentException("adaptive depth of field needs at least 2 rays to measure variance");
+        if (maxVariance < 0)
+            throw new IllegalArgumentException("color variance can not be negative");
+        _adaptiveDOFMinRays = minRays;
+        _adaptiveDOFMaxVariance = maxVariance;
+    }
+
+    /**
+     * Render setter for the sampler of the depth of field aperture points. The
+     * sampler sequence is scrambled for every pixel, so the image depends only on
+     * the seed (not on the threads). With adaptive depth of field the rays are
+     * added by the sampler order, otherwise every pixel gets the camera amount of rays
+     *
+     * @param sampler the sampler (null - the regular rays grid)
+     * @param seed    the seed of the pixels scrambles
+     */
+    public void setSampler(Sampler sampler, long seed) {
+        _sampler = sampler;
+        _samplerSeed = seed;
+    }
+
+    /**
+     * Render setter for the light intensity cutoff. A light is skipped (no shadow ray)
+     * at the points beyond its influence radius of the cutoff, and with the scene
+     * light BVH turned on the whole groups of lights under the cutoff are skipped.
+     * 0 skips only the spots that face away from the point
+     *
+     * @param cutoff the cutoff (strongest color component, 0 - exact image)
+     */
+    public void setLightCutoff(double cutoff) {
+        if (cutoff < 0)
+            throw new IllegalArgumentException("light cutoff can not be negative");
+        _lightCutoff = cutoff;
+    }
+
+    /**
+     * Render setter for the per tile light lists. Before the rendering the influence
+     * sphere of every light (of the light cutoff) is tested against the view frustum of
+     * every tile, the camera rays hits of a tile are lighted only by its lights. The image
+     * is rendered by tiles (of the tile size) even by one thread. It has no effect with
+     * a camera with depth of field (the rays do not start at the camera place) or with
+     * no light cutoff
+     *
+     * @param tileLightCulling true to turn the tile light lists on
+     */
+    public void setTileLightCulling(boolean tileLightCulling) {
+        _tileLightCulling = tileLightCulling;
+    }
+
+    /**
+     * Render setter for the last occluder cache. Every rendering thread keeps for
+     * every light the last opaque geometry that blocked a shadow ray towards it, the
+     * next shadow ray of the light is tested against it before the scene traversal
+     * (see RenderStatistics.getOccluderHits). The image does not change
+     *
+     * @param occluderCache true to turn the cache on
+     */
+    public void setOccluderCache(boolean occluderCache) {
+        _occluderCache = occluderCache;
+    }
+
+    /**
+     * Render setter for adaptive anti aliasing. The rays go through the pixels
+     * corners (inside a tile every pixel corner is traced once and shared by the
+     * neighbour pixels), a pixel whose corners hit different geometries or differ
+     * in color beyond the threshold is split into 4 squares, recursively up to the
+     * levels limit. The corners on the tiles edges and the middles of the edges of
+     * split neighbour pixels are traced by both sides - the same point gives the
+     * same color (the russian roulette is seeded by the point).
+     * The color of a square is the average of its corners (or of its sub squares).
+     * The depth of field rays are not used in this mode
+     *
+     * @param levels    subdivision levels limit (0 - off, one ray through every pixel center)
+     * @param threshold the largest difference of a color channel (0..255) that is not subdivided
+     */
+    public void setAdaptiveAntiAliasing(int levels, int threshold) {
+        if (levels < 0)
+            throw new IllegalArgumentException("anti aliasing levels can not be negative");
+        if (threshold < 0)
+            throw new IllegalArgumentException("anti aliasing threshold can not be negative");
+        _antiAliasingLevels = levels;
+        _antiAliasingThreshold = threshold;
+    }
+
+    // ********************** Functions ********************** //
+
+    /**
+     * the transparency of the scene along a shadow ray. With the occluder cache the
+     * last opaque geometry that blocked a shadow ray of the light is tested first, an
+     * opaque geometry that blocks the ray in the scene traversal replaces it (an opaque
+     * geometry on the ray blocks it whatever the other geometries are, so the result
+     * is the same)
+     *
+     * @param context  the trace context of the thread
+     * @param light    the light of the shadow ray
+     * @param ray      the shadow ray
+     * @param distance the distance to the light
+     * @param minK     the smallest transparency that is still calculated
+     * @return the transparency, 0 if it fell below minK
+     */
+    private double findTransparency(TraceContext context, LightSource light, Ray ray, double distance, double minK) {
+        Geometries geometries = _renderScene.getGeometries();
+        if (!_occluderCache)
+            return geometries.findTransparency(ray, distance, 1d, minK);
+        Geometry occluder = context._occluders.get(light);
+        if (occluder != null) {
+            boolean hit = occluder.hasIntersection(ray, distance);
+            _statistics.addOccluderTest(hit);
+            if (hit)
+                return 0;
         }
-        return true;
+        Geometry[] blocker = context._occluder;
+        blocker[0] = null;
+        double ktr = geometries.findTransparency(ray, distance, 1d, minK, blocker);
+        if (blocker[0] != null)
+            context._occluders.put(light, blocker[0]);
+        return ktr;
     }
 
     /**
@@ -71,60 +297,38 @@ public class Render {
      * @return the closest intersection
      */
     private GeoPoint findClosestIntersection(Ray ray) {
-        GeoPoint closestPoint = null;
-        double closestDistance = Double.MAX_VALUE;
-        Point3D ray_p0 = ray.getP0();
-        List<GeoPoint> intersections = _scene.getGeometries().findIntersections(ray);
-        if (intersections == null)
-            return null;
-        for (GeoPoint gp : intersections) {
-            double distance = ray_p0.distance(gp.point);
-            if (distance < closestDistance) {
-                closestPoint = gp;
-                closestDistance = distance;
-            }
-        }
-        return closestPoint;
+        GeoPoint geoPoint = _renderScene.getGeometries().findClosestIntersection(ray);
+        _statistics.addIntersectionTest(geoPoint != null);
+        return geoPoint;
     }
 
     /**
-     * Finding the closest point to the camera
-     * that the ray intersection any geometries.
+     * Calc the color intensity in a intersection point
+     * (package-private for the render benchmark)
      *
-     * @param points list of points intersection
-     * @return the closest point to the camera
+     * @param ray ray
+     * @return the color
      */
-    private GeoPoint getClosestPoint(List<GeoPoint> points) {
-        //initialization closesDistance to be the largest number of a double type
-        GeoPoint rtn = null;
-        double minDistance = Double.MAX_VALUE;
-        Point3D closesPoint = null;
-        Point3D place = new Point3D(_scene.getCamera().getPlace());
-        for (GeoPoint geoPoint : points) {
-            Point3D p = geoPoint.point;
-            double distance = place.distance(p);
-            if (distance < minDistance) {
-                minDistance = distance;
-                rtn = geoPoint;
-            }
-        }
-        return rtn;
+    Color calcColor(Ray ray) {
+        if (_renderScene == null)
+            prepare();
+        return calcColor(findClosestIntersection(ray), ray);
     }
 
     /**
-     * Calc the color intensity in a intersection point
+     * Calc the color intensity of a ray by its closest intersection
      *
-     * @param ray ray
+     * @param geoPoint the closest intersection (null if there is none)
+     * @param ray      ray
      * @return the color
      */
-    private Color calcColor(Ray ray) {
-        GeoPoint geoPoint = findClosestIntersection(ray);
+    private Color calcColor(GeoPoint geoPoint, Ray ray) {
         // if no have intersection on this ray so paint background
         if (geoPoint == null)
-            return _scene.getBackground();
+            return _renderScene.getBackground();
         else {
-            return calcColor(geoPoint, ray, MAX_CALC_COLOR_LEVEL, 1.0).add(
-                    _scene.getAmbientLight().getIntensity());
+            return calcColor(geoPoint, ray, _maxCalcColorLevel, 1.0).add(
+                    _renderScene.getAmbientLight().getIntensity());
         }
 
     }
@@ -135,16 +339,23 @@ public class Render {
      * @param rays rays
      * @return the average
      */
-    private Color calcColor(List<Ray> rays) {
+    private Color calcColor(Iterator<Ray> rays) {
         Color color = Color.BLACK;
-        for (Ray ray : rays) {
-            color = color.add(calcColor(ray));
+        int count = 0;
+        while (rays.hasNext()) {
+            _statistics.addPrimaryRay();
+            color = color.add(calcColor(rays.next()));
+            ++count;
         }
-        return color.reduce(rays.size());
+        return color.reduce(count);
     }
 
     /**
-     * recursive func
+     * calc the color of the rays tree from an intersection point - without recursion,
+     * the pending levels are kept on the explicit stack of the thread.
+     * The tree is evaluated depth first (reflection before refraction) and every
+     * sub tree is added to its parent as it is done, so the result is the same as
+     * of a recursive evaluation
      *
      * @param geoPoint geo point
      * @param inRay    ray
@@ -153,12 +364,91 @@ public class Render {
      * @return the color
      */
     private Color calcColor(GeoPoint geoPoint, Ray inRay, int level, double k) {
+        TraceContext context = _context.get();
+        int bottom = context._top;
+        Color color = enterCalcColor(context, geoPoint, inRay, level, k);
+        if (color != null)
+            return color;
+
+        // color of the last finished sub tree, to be added to the frame under it
+        Color subTree = null;
+        while (context._top > bottom) {
+            int f = context._top - 1;
+            Material material = context._material[f];
+            if (subTree != null) {
+                context._color[f] = context._color[f].add(subTree.scale(context._subTreeScale[f]));
+                subTree = null;
+            }
+
+            int stage = context._stage[f]++;
+            if (stage == REFRACTION_DONE) {
+                subTree = context.pop();
+                continue;
+            }
+            boolean reflection = stage != REFLECTION_DONE;
+            double kx = reflection ? material.getKR() : material.getKT();
+            double kk = context._k[f] * kx;
+            double scale = kx;
+            if (kk > 0 && kk < _rouletteThreshold) {
+                // the branch survives with probability kk / threshold, reweighted by its inverse
+                double survival = kk / _rouletteThreshold;
+                if (context.nextRandom() < survival) {
+                    scale = kx / survival;
+                    kk = _rouletteThreshold;
+                } else {
+                    // dropped by the roulette - not an early termination by MIN_CALC_COLOR_K
+                    _statistics.addRouletteTermination();
+                    continue;
+                }
+            }
+            // if the factor after multiplication to the 'k' is bigger than MIN_CALC_COLOR_K
+            if (kk > MIN_CALC_COLOR_K) {
+                Point3D pointGeo = context._geoPoint[f].point;
+                Ray secondaryRay;
+                if (reflection) {
+                    _statistics.addReflectedRay();
+                    secondaryRay = constructReflectedRay(pointGeo, context._ray[f], context._normal[f]);
+                } else {
+                    _statistics.addRefractedRay();
+                    secondaryRay = constructRefractedRay(pointGeo, context._ray[f], context._normal[f]);
+                }
+                GeoPoint secondaryPoint = findClosestIntersection(secondaryRay);
+                if (secondaryPoint != null) {
+                    // either a finished leaf color, or a new frame on the stack
+                    color = enterCalcColor(context, secondaryPoint, secondaryRay, context._level[f] - 1, kk);
+                    if (color != null)
+                        context._color[f] = context._color[f].add(color.scale(scale));
+                    else
+                        context._subTreeScale[f] = scale;
+                }
+            } else if (kx > 0)
+                _statistics.addEarlyTermination();
+        }
+        return subTree;
+    }
+
+    /**
+     * calc the own color of an intersection point (emission and light sources).
+     * If the point may have reflected or refracted rays a frame is pushed on the stack
+     * for them, otherwise the color is final
+     *
+     * @param context  the trace context of the thread
+     * @param geoPoint geo point
+     * @param inRay    ray
+     * @param level    parameter of limit times recursive
+     * @param k        stop condition
+     * @return the final color, or null if a frame was pushed
+     */
+    private Color enterCalcColor(TraceContext context, GeoPoint geoPoint, Ray inRay, int level, double k) {
         if (level == 1 || k < MIN_CALC_COLOR_K) {
+            if (k < MIN_CALC_COLOR_K)
+                _statistics.addEarlyTermination();
             return Color.BLACK;
         }
+        _statistics.addDepth(_maxCalcColorLevel - level + 1);
         Color result = geoPoint.geometry.getEmission();
         Point3D pointGeo = geoPoint.point;
-        Vector v = pointGeo.subtract(_scene.getCamera().getPlace()).normalize();
+        Vector v = pointGeo.subtract(_renderScene.getCamera().getPlace()).normalize();
         // the normal vector of geometric object in the geoPoint
         Vector n = geoPoint.geometry.getNormal(pointGeo);
 
@@ -170,55 +460,75 @@ public class Render {
         Material material = geoPoint.geometry.getMaterial();
         //the shininess of the geometric object
         int nShininess = material.getNShininess();
-        double kkr = k * material.getKR();
-        double kkt = k * material.getKT();
-        result = result.add(getLightSourcesColors(geoPoint, k, result, v, n, nv, nShininess, material.getKD(), material.getKS()));
-        // if the reflection factor after multiplication to the 'k' is bigger than MIN_CALC_COLOR_K
-        if (kkr > MIN_CALC_COLOR_K) {
-            Ray reflectedRay = constructReflectedRay(pointGeo, inRay, n);
-            GeoPoint reflectedPoint = findClosestIntersection(reflectedRay);
-            if (reflectedPoint != null) {
-                result = result.add(calcColor(reflectedPoint, reflectedRay, level - 1, kkr).scale(material.getKR()));
-            }
-        }
-        // if the transparency factor after multiplication to the 'k' is bigger than MIN_CALC_COLOR_K
-        if (kkt > MIN_CALC_COLOR_K) {
-            Ray refractedRay = constructRefractedRay(pointGeo, inRay, n);
-            GeoPoint refractedPoint = findClosestIntersection(refractedRay);
-            if (refractedPoint != null) {
-                result = result.add(calcColor(refractedPoint, refractedRay, level - 1, kkt).scale(material.getKT()));
-            }
-        }
-        return result;
+        List<LightSource> lightSources = findLights(context, pointGeo, level == _maxCalcColorLevel);
+        result = result.add(getLightSourcesColors(context, lightSources, geoPoint, k, result, v, n, nv, nShininess, material.getKD(), material.getKS()));
+        if (material.getKR() == 0 && material.getKT() == 0)
+            return result;
+        context.push(geoPoint, inRay, n, material, level, k, result);
+        return null;
     }
 
     /**
      * func calc the level of transparency
      *
-     * @param ls ls
-     * @param l  l
-     * @param n  n
-     * @param gp gp
+     * @param context       the trace context of the thread
+     * @param ls            ls
+     * @param l             l
+     * @param lightDistance the distance from the point to the light
+     * @param n             n
+     * @param gp            gp
      * @return the level
      */
-    private double transparency(LightSource ls, Vector l, Vector n, GeoPoint gp) {
+    private double transparency(TraceContext context, LightSource ls, Vector l, double lightDistance, Vector n, GeoPoint gp) {
         Vector lightDirection = l.scale(-1); // from point to light source
         Ray lightRay = new Ray(gp.point, lightDirection, n);
-        List<GeoPoint> intersections = _scene.getGeometries().findIntersections(lightRay);
-        if (intersections == null)
-            return 1d;
-        double lightDistance = ls.getDistance(gp.point);
-        double ktr = 1d;
-        for (GeoPoint geo : intersections) {
-            double temp = geo.point.distance(gp.point) - lightDistance;
-            if (alignZero(temp) <= 0) {
-                ktr *= geo.geometry.getMaterial().getKT();
-                if (ktr < MIN_CALC_COLOR_K) {
-                    return 0.0;
+        _statistics.addShadowRay();
+        double ktr = findTransparency(context, ls, lightRay, lightDistance, MIN_CALC_COLOR_K);
+        _statistics.addIntersectionTest(ktr != 1d);
+        return ktr;
+    }
+
+    /**
+     * func calc the level of transparency of an area light - the average of the
+     * shadow rays towards its surface. The first rays are the light minimal amount,
+     * while they disagree (penumbra) the amount is doubled up to the light limit.
+     * The sampler is scrambled by the lighted point, so the result does not depend
+     * on the pixels order
+     *
+     * @param context the trace context of the thread
+     * @param light   the area light
+     * @param nl      normal dot the light vector of the light center
+     * @param n       normal
+     * @param gp      the lighted point
+     * @return the level
+     */
+    private double transparency(TraceContext context, AreaLight light, double nl, Vector n, GeoPoint gp) {
+        Point3D point = gp.point;
+        long scramble = Sampler.scramble(Double.doubleToLongBits(point.getXValue()),
+                Double.hashCode(point.getYValue()), Double.hashCode(point.getZValue()));
+        int maxSamples = light.getMaxSamples();
+        int samples = 0, target = light.getMinSamples();
+        double sum = 0, min = 1, max = 0;
+        while (true) {
+            for (; samples < target; ++samples) {
+                Point3D lightPoint = light.getSamplePoint(samples, scramble);
+                Vector lightDirection = lightPoint.subtract(point); // from point to light surface
+                double ktr = 0;
+                // a surface point behind the lighted surface is hidden by it
+                if (alignZero(lightDirection.dotProduct(n)) * nl < 0) {
+                    Ray lightRay = new Ray(point, lightDirection, n);
+                    _statistics.addShadowRay();
+                    ktr = findTransparency(context, light, lightRay, point.distance(lightPoint), MIN_CALC_COLOR_K);
+                    _statistics.addIntersectionTest(ktr != 1d);
                 }
+                sum += ktr;
+                min = Math.min(min, ktr);
+                max = Math.max(max, ktr);
             }
+            if (max - min <= MIN_CALC_COLOR_K || samples == maxSamples)
+                return sum / samples;
+            target = Math.min(2 * samples, maxSamples);
         }
-        return ktr;
     }
 
     /**
@@ -254,38 +564,75 @@ public class Render {
      * this func Calc the intensity in a intersection point
      * with the light sources rays
      *
-     * @param geoPoint   geo point
-     * @param k          k
-     * @param result     the color of lighted point
-     * @param v          from camera to lighted point
-     * @param n          normal
-     * @param nv         nv
-     * @param nShininess shininess
-     * @param kd         kd
-     * @param ks         ks
+     * @param context      the trace context of the thread
+     * @param lightSources the candidate lights of the point
+     * @param geoPoint     geo point
+     * @param k            k
+     * @param result       the color of lighted point
+     * @param v            from camera to lighted point
+     * @param n            normal
+     * @param nv           nv
+     * @param nShininess   shininess
+     * @param kd           kd
+     * @param ks           ks
      * @return get light sources color
      */
-    private Color getLightSourcesColors(GeoPoint geoPoint, double k, Color result, Vector v, Vector n, double nv, int nShininess, double kd, double ks) {
+    private Color getLightSourcesColors(TraceContext context, List<LightSource> lightSources, GeoPoint geoPoint, double k, Color result, Vector v, Vector n, double nv, int nShininess, double kd, double ks) {
         Point3D pointGeo = geoPoint.point;
-        List<LightSource> lightSources = _scene.getLights();
+        LightSample sample = context._lightSample;
         // if the light source collection did not empty
         if (lightSources != null) {
             for (LightSource lightSource : lightSources) {
-                Vector l = lightSource.getL(pointGeo);
+                // skip the lights that can not light the point (above the cutoff) before any shadow ray
+                if (!lightSource.canLight(pointGeo, _lightCutoff)) {
+                    _statistics.addCulledLights(1);
+                    continue;
+                }
+                // the light vector, the distance and the intensity in one pass
+                lightSource.sample(pointGeo, sample);
+                Vector l = sample.getL();
                 double nl = alignZero(n.dotProduct(l));
                 if (nl * nv > 0) {
-                    double ktr = transparency(lightSource, l, n, geoPoint);
+                    double ktr = lightSource instanceof AreaLight
+                            ? transparency(context, (AreaLight) lightSource, nl, n, geoPoint)
+                            : transparency(context, lightSource, l, sample.getDistance(), n, geoPoint);
                     if (ktr * k > MIN_CALC_COLOR_K) {
-                        Color lightIntensity = lightSource.getIntensity(pointGeo).scale(ktr);
+                        Color lightIntensity = sample.getIntensity().scale(ktr);
                         result = result.add(calcDiffusive(kd, nl, lightIntensity),
                                 calcSpecular(ks, l, n, nl, v, nShininess, lightIntensity));
-                    }
+                    } else if (ktr > 0)
+                        _statistics.addEarlyTermination();
                 }
             }
         }
         return result;
     }
 
+    /**
+     * the candidate lights of a point: the lights of the tile for a camera ray hit
+     * (with tile light lists), the lights found by the lights hierarchy (with the
+     * scene light BVH), or all the scene lights
+     *
+     * @param context the trace context of the thread
+     * @param point   the lighted point
+     * @param primary true for a camera ray hit
+     * @return the lights
+     */
+    private List<LightSource> findLights(TraceContext context, Point3D point, boolean primary) {
+        List<LightSource> lightSources = _renderScene.getLights();
+        if (primary && context._tileLights != null) {
+            _statistics.addCulledLights(lightSources.size() - context._tileLights.size());
+            return context._tileLights;
+        }
+        if (_lightBVH != null) {
+            lightSources = context._lights;
+            lightSources.clear();
+            _lightBVH.findLights(point, _lightCutoff, lightSources);
+            _statistics.addCulledLights(_lightBVH.size() - lightSources.size());
+        }
+        return lightSources;
+    }
+
     /**
      * Prints a grid on the background of our image
      *
@@ -304,27 +651,286 @@ public class Render {
     /**
      * Create the image color matrix from the scene
      * And where there are points that are in the geometric body - then paint a special color
+     *
+     * @return the statistics of the rendering (rays, intersections, wall time)
      */
-    public void renderImage() {
-        Camera camera = _scene.getCamera();
-        Intersectable geometries = _scene.getGeometries();
-
+    public RenderStatistics renderImage() {
+        _statistics = new RenderStatistics();
+        long start = System.nanoTime();
+        // compile the scene (geometries BVH and lights hierarchy) before any rendering thread starts
+        prepare();
+        Camera camera = _renderScene.getCamera();
 
         int nX = _imageWriter.getNx();
         int nY = _imageWriter.getNy();
+        double distance = _renderScene.getDistance(), width = _imageWriter.getWidth(), height = _imageWriter.getHeight();
+        if (_projection == null || !_projection.isFor(camera, nX, nY, distance, width, height))
+            _projection = camera.prepare(nX, nY, distance, width, height);
+        _tileLights = _tileLightCulling && _lightCutoff > 0 && !camera.hasDOF()
+                ? new TileLights(camera, nX, nY, distance, width, height, _tileSize, _renderScene.getLights(), _lightCutoff)
+                : null;
+
+        if (_threads > 1 || _tileLights != null)
+            renderTiles(camera, nX, nY);
+        else if (_antiAliasingLevels > 0)
+            renderAntiAliasedTile(camera, nX, nY, 0, 0, nX, nY);
+        else
+            for (int i = 0; i < nY; ++i)
+                for (int j = 0; j < nX; ++j)
+                    renderPixel(camera, nX, nY, j, i);
+        _statistics.setWallTime(System.nanoTime() - start);
+        return _statistics;
+    }
+
+    /**
+     * compile the scene of the render (if it was not given compiled) - the scene
+     * returns the same compiled scene while it is not changed (see Scene.compile)
+     */
+    private void prepare() {
+        if (_scene != null)
+            _renderScene = _scene.compile();
+        _lightBVH = _renderScene.getLightBVH();
+    }
+
+    /**
+     * render the image by tiles on a pool of _threads threads,
+     * every thread takes the next tile until all the tiles are done
+     *
+     * @param camera the camera
+     * @param nX     pixels on width
+     * @param nY     pixels on height
+     */
+    private void renderTiles(Camera camera, int nX, int nY) {
+        int tilesX = (nX + _tileSize - 1) / _tileSize;
+        int tilesY = (nY + _tileSize - 1) / _tileSize;
+        int tiles = tilesX * tilesY;
+        AtomicInteger nextTile = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(_threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < _threads; ++t)
+                workers.add(pool.submit(() -> {
+                    TraceContext context = _context.get();
+                    for (int tile = nextTile.getAndIncrement(); tile < tiles; tile = nextTile.getAndIncrement()) {
+                        context._tileLights = _tileLights == null ? null : _tileLights.get(tile);
+                        int x0 = (tile % tilesX) * _tileSize;
+                        int y0 = (tile / tilesX) * _tileSize;
+                        int x1 = Math.min(x0 + _tileSize, nX);
+                        int y1 = Math.min(y0 + _tileSize, nY);
+                        if (_antiAliasingLevels > 0)
+                            renderAntiAliasedTile(camera, nX, nY, x0, y0, x1, y1);
+                        else
+                            for (int i = y0; i < y1; ++i)
+                                for (int j = x0; j < x1; ++j)
+                                    renderPixel(camera, nX, nY, j, i);
+                    }
+                    context._tileLights = null;
+                }));
+            for (Future<?> worker : workers)
+                worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("rendering was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("rendering failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * calc the color of one pixel and write it to the image
+     *
+     * @param camera the camera
+     * @param nX     pixels on width
+     * @param nY     pixels on height
+     * @param j      pixel column
+     * @param i      pixel row
+     */
+    private void renderPixel(Camera camera, int nX, int nY, int j, int i) {
+        if (_rouletteThreshold > 0)
+            _context.get().setSeed(_rouletteSeed ^ ((long) i * nX + j) * 0x9E3779B97F4A7C15L);
+        if ((_adaptiveDOFMinRays > 0 || _sampler != null) && camera.hasDOF()) {
+            Ray centerRay = _projection.constructRay(j, i);
+            long scramble = _sampler == null ? 0 : Sampler.scramble(_samplerSeed, j, i);
+            _imageWriter.writePixel(j, i, calcDOFColor(camera, centerRay, scramble).getColor());
+            return;
+        }
+        //creating the rays of the pixel while they are traced
+        Iterator<Ray> rays = _projection.raysThroughPixel(j, i);
+        _imageWriter.writePixel(j, i, calcColor(rays).getColor());
+    }
+
+    /**
+     * render the pixels [x0, x1) x [y0, y1) with adaptive anti aliasing.
+     * The corners are traced row after row, only two rows of corners are kept
+     *
+     * @param camera the camera
+     * @param nX     pixels on width
+     * @param nY     pixels on height
+     * @param x0     first column
+     * @param y0     first row
+     * @param x1     column after the last
+     * @param y1     row after the last
+     */
+    private void renderAntiAliasedTile(Camera camera, int nX, int nY, int x0, int y0, int x1, int y1) {
+        Sample[] upper = new Sample[x1 - x0 + 1];
+        Sample[] lower = new Sample[x1 - x0 + 1];
+        for (int j = x0; j <= x1; ++j)
+            upper[j - x0] = traceSample(camera, nX, nY, j, y0);
+        for (int i = y0; i < y1; ++i) {
+            for (int j = x0; j <= x1; ++j)
+                lower[j - x0] = traceSample(camera, nX, nY, j, i + 1);
+            for (int j = x0; j < x1; ++j)
+                _imageWriter.writePixel(j, i, calcSquareColor(camera, nX, nY, j, i, 1,
+                        upper[j - x0], upper[j - x0 + 1], lower[j - x0], lower[j - x0 + 1],
+                        _antiAliasingLevels).getColor());
+            Sample[] row = upper;
+            upper = lower;
+            lower = row;
+        }
+    }
 
-        double width = _imageWriter.getWidth();
-        double height = _imageWriter.getHeight();
-        double distance = _scene.getDistance();
-
-        Ray ray;
-        for (int i = 0; i < nY; ++i)
-            for (int j = 0; j < nX; ++j) {
-                //creating a new ray for every pixel
-                List<Ray> rays = camera.constructRaysThroughPixel(nX, nY, j, i, distance, width, height);
-                //GeoPoint closestPoint = getClosestPoint(intersectionPoints);
-                _imageWriter.writePixel(j, i, calcColor(rays).getColor());
+    /**
+     * calc the color of a square of the view plane by its corners, subdividing
+     * it while the corners differ and there are levels left
+     *
+     * @param camera      the camera
+     * @param nX          pixels on width
+     * @param nY          pixels on height
+     * @param x           left column position
+     * @param y           top row position
+     * @param size        square edge (in pixels)
+     * @param topLeft     top left corner sample
+     * @param topRight    top right corner sample
+     * @param bottomLeft  bottom left corner sample
+     * @param bottomRight bottom right corner sample
+     * @param levels      subdivision levels left
+     * @return the color of the square
+     */
+    private Color calcSquareColor(Camera camera, int nX, int nY, double x, double y, double size,
+                                  Sample topLeft, Sample topRight, Sample bottomLeft, Sample bottomRight, int levels) {
+        if (levels == 0 || similar(topLeft, topRight, bottomLeft, bottomRight))
+            return topLeft._color.add(topRight._color, bottomLeft._color, bottomRight._color).reduce(4);
+        double half = size / 2;
+        Sample top = traceSample(camera, nX, nY, x + half, y);
+        Sample left = traceSample(camera, nX, nY, x, y + half);
+        Sample center = traceSample(camera, nX, nY, x + half, y + half);
+        Sample right = traceSample(camera, nX, nY, x + size, y + half);
+        Sample bottom = traceSample(camera, nX, nY, x + half, y + size);
+        return calcSquareColor(camera, nX, nY, x, y, half, topLeft, top, left, center, levels - 1).add(
+                calcSquareColor(camera, nX, nY, x + half, y, half, top, topRight, center, right, levels - 1),
+                calcSquareColor(camera, nX, nY, x, y + half, half, left, center, bottomLeft, bottom, levels - 1),
+                calcSquareColor(camera, nX, nY, x + half, y + half, half, center, right, bottom, bottomRight, levels - 1))
+                .reduce(4);
+    }
+
+    /**
+     * check if the corners of a square hit the same geometry with close colors
+     *
+     * @param samples the corners
+     * @return true if no subdivision is needed
+     */
+    private boolean similar(Sample... samples) {
+        Geometry geometry = samples[0]._geometry;
+        int minR = 255, minG = 255, minB = 255, maxR = 0, maxG = 0, maxB = 0;
+        for (Sample sample : samples) {
+            if (!Objects.equals(geometry, sample._geometry))
+                return false;
+            int red = (sample._rgb >> 16) & 0xFF, green = (sample._rgb >> 8) & 0xFF, blue = sample._rgb & 0xFF;
+            minR = Math.min(minR, red);
+            maxR = Math.max(maxR, red);
+            minG = Math.min(minG, green);
+            maxG = Math.max(maxG, green);
+            minB = Math.min(minB, blue);
+            maxB = Math.max(maxB, blue);
+        }
+        return maxR - minR <= _antiAliasingThreshold && maxG - minG <= _antiAliasingThreshold
+                && maxB - minB <= _antiAliasingThreshold;
+    }
+
+    /**
+     * trace one ray of the anti aliasing through a point of the view plane
+     *
+     * @param camera the camera
+     * @param nX     pixels on width
+     * @param nY     pixels on height
+     * @param x      column position
+     * @param y      row position
+     * @return the sample
+     */
+    private Sample traceSample(Camera camera, int nX, int nY, double x, double y) {
+        // by the point, not by the pixel - the corners are shared by pixels and tiles
+        if (_rouletteThreshold > 0)
+            _context.get().setSeed(_rouletteSeed
+                    ^ (Double.doubleToLongBits(y) * 31 + Double.doubleToLongBits(x)) * 0x9E3779B97F4A7C15L);
+        Ray ray = camera.constructRayThroughPoint(nX, nY, x, y,
+                _renderScene.getDistance(), _imageWriter.getWidth(), _imageWriter.getHeight());
+        _statistics.addPrimaryRay();
+        GeoPoint geoPoint = findClosestIntersection(ray);
+        return new Sample(calcColor(geoPoint, ray), geoPoint == null ? null : geoPoint.geometry);
+    }
+
+    /**
+     * class Sample - one ray of the anti aliasing: its color, the displayed color and the hit geometry
+     */
+    private static final class Sample {
+        private final Color _color;
+        private final int _rgb;
+        private final Geometry _geometry;
+
+        /**
+         * Sample constructor
+         *
+         * @param color    the color of the ray
+         * @param geometry the hit geometry (null for the background)
+         */
+        private Sample(Color color, Geometry geometry) {
+            _color = color;
+            _rgb = color.getColor().getRGB();
+            _geometry = geometry;
+        }
+    }
+
+    /**
+     * calc the average color of the sampled depth of field rays of a pixel. With
+     * adaptive depth of field the rays are added while the colors variance is
+     * above the limit (see setAdaptiveDOF)
+     *
+     * @param camera    the camera
+     * @param centerRay the ray through the pixel center
+     * @param scramble  the scramble of the sampler for the pixel
+     * @return the average
+     */
+    private Color calcDOFColor(Camera camera, Ray centerRay, long scramble) {
+        int maxRays = camera.getNumOfDOFRays();
+        Color color = Color.BLACK;
+        // sums of the displayed channels values and of their squares
+        double sumR = 0, sumG = 0, sumB = 0, sumR2 = 0, sumG2 = 0, sumB2 = 0;
+        int rays = 0;
+        while (rays < maxRays) {
+            _statistics.addPrimaryRay();
+            Ray ray = _sampler == null ? camera.constructFocalRay(centerRay, rays)
+                    : camera.constructFocalRay(centerRay, rays, _sampler, scramble);
+            ++rays;
+            Color rayColor = calcColor(ray);
+            color = color.add(rayColor);
+            java.awt.Color displayed = rayColor.getColor();
+            double red = displayed.getRed(), green = displayed.getGreen(), blue = displayed.getBlue();
+            sumR += red;
+            sumG += green;
+            sumB += blue;
+            sumR2 += red * red;
+            sumG2 += green * green;
+            sumB2 += blue * blue;
+            if (_adaptiveDOFMinRays > 0 && rays >= _adaptiveDOFMinRays) {
+                double variance = Math.max(sumR2 / rays - (sumR / rays) * (sumR / rays),
+                        Math.max(sumG2 / rays - (sumG / rays) * (sumG / rays), sumB2 / rays - (sumB / rays) * (sumB / rays)));
+                if (variance <= _adaptiveDOFMaxVariance)
+                    break;
             }
+        }
+        return color.reduce(rays);
     }
 
     /**
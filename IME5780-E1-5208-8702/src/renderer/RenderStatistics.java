@@ -0,0 +1,249 @@
+package renderer;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * class RenderStatistics - counters of one rendering of an image.
+ * The counters are updated by all the rendering threads without locking
+ *
+ * @author AhronS, IsraelN
+ */
+public class RenderStatistics {
+    private final LongAdder _primaryRays = new LongAdder();
+    private final LongAdder _reflectedRays = new LongAdder();
+    private final LongAdder _refractedRays = new LongAdder();
+    private final LongAdder _shadowRays = new LongAdder();
+    // scene intersection queries and the queries that found a geometry
+    private final LongAdder _intersectionTests = new LongAdder();
+    private final LongAdder _intersectionHits = new LongAdder();
+    // rays and light contributions dropped because their factor fell below MIN_CALC_COLOR_K
+    private final LongAdder _earlyTerminations = new LongAdder();
+    // reflected and refracted branches dropped by the russian roulette
+    private final LongAdder _rouletteTerminations = new LongAdder();
+    // lights skipped by the light hierarchy or by their influence (no shadow ray and no shading)
+    private final LongAdder _culledLights = new LongAdder();
+    // shadow rays tested against the cached last occluder of their light and the rays it blocked
+    private final LongAdder _occluderTests = new LongAdder();
+    private final LongAdder _occluderHits = new LongAdder();
+    private final LongAccumulator _maxDepth = new LongAccumulator(Math::max, 0);
+    private long _wallTime;
+
+    // ****************************** Getters *****************************/
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of rays from the camera
+     */
+    public long getPrimaryRays() {
+        return _primaryRays.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of reflected rays
+     */
+    public long getReflectedRays() {
+        return _reflectedRays.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of refracted rays
+     */
+    public long getRefractedRays() {
+        return _refractedRays.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of rays towards the light sources
+     */
+    public long getShadowRays() {
+        return _shadowRays.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of all the rays
+     */
+    public long getTotalRays() {
+        return getPrimaryRays() + getReflectedRays() + getRefractedRays() + getShadowRays();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of intersection queries on the scene geometries
+     */
+    public long getIntersectionTests() {
+        return _intersectionTests.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of intersection queries that found a geometry
+     */
+    public long getIntersectionHits() {
+        return _intersectionHits.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of rays and light contributions dropped by the minimal color factor
+     */
+    public long getEarlyTerminations() {
+        return _earlyTerminations.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of reflected and refracted branches dropped by the russian roulette
+     */
+    public long getRouletteTerminations() {
+        return _rouletteTerminations.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of lights skipped at the shaded points
+     */
+    public long getCulledLights() {
+        return _culledLights.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of shadow rays tested against a cached occluder
+     */
+    public long getOccluderTests() {
+        return _occluderTests.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return amount of shadow rays blocked by their cached occluder (no scene traversal)
+     */
+    public long getOccluderHits() {
+        return _occluderHits.sum();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return the deepest recursion level reached (1 for the camera rays hits)
+     */
+    public long getMaxDepth() {
+        return _maxDepth.get();
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return the rendering wall time in nanoseconds
+     */
+    public long getWallTime() {
+        return _wallTime;
+    }
+
+    /**
+     * RenderStatistics getter
+     *
+     * @return the ray throughput in millions of rays per second
+     */
+    public double getMraysPerSecond() {
+        return _wallTime == 0 ? 0 : getTotalRays() * 1e3 / _wallTime;
+    }
+
+    // ****************************** Functions *****************************/
+
+    void addPrimaryRay() {
+        _primaryRays.increment();
+    }
+
+    void addReflectedRay() {
+        _reflectedRays.increment();
+    }
+
+    void addRefractedRay() {
+        _refractedRays.increment();
+    }
+
+    void addShadowRay() {
+        _shadowRays.increment();
+    }
+
+    /**
+     * count one intersection query
+     *
+     * @param hit true if the query found a geometry
+     */
+    void addIntersectionTest(boolean hit) {
+        _intersectionTests.increment();
+        if (hit)
+            _intersectionHits.increment();
+    }
+
+    void addEarlyTermination() {
+        _earlyTerminations.increment();
+    }
+
+    void addRouletteTermination() {
+        _rouletteTerminations.increment();
+    }
+
+    void addCulledLights(int lights) {
+        _culledLights.add(lights);
+    }
+
+    /**
+     * count one shadow ray tested against a cached occluder
+     *
+     * @param hit true if the occluder blocked the ray
+     */
+    void addOccluderTest(boolean hit) {
+        _occluderTests.increment();
+        if (hit)
+            _occluderHits.increment();
+    }
+
+    void addDepth(int depth) {
+        _maxDepth.accumulate(depth);
+    }
+
+    void setWallTime(long wallTime) {
+        _wallTime = wallTime;
+    }
+
+    /****************************** Override *****************************/
+    @Override
+    public String toString() {
+        return "RenderStatistics{" +
+                "primaryRays=" + getPrimaryRays() +
+                ", reflectedRays=" + getReflectedRays() +
+                ", refractedRays=" + getRefractedRays() +
+                ", shadowRays=" + getShadowRays() +
+                ", intersectionTests=" + getIntersectionTests() +
+                ", intersectionHits=" + getIntersectionHits() +
+                ", earlyTerminations=" + getEarlyTerminations() +
+                ", rouletteTerminations=" + getRouletteTerminations() +
+                ", culledLights=" + getCulledLights() +
+                ", occluderTests=" + getOccluderTests() +
+                ", occluderHits=" + getOccluderHits() +
+                ", maxDepth=" + getMaxDepth() +
+                ", wallTime=" + _wallTime / 1e6 + "ms" +
+                ", Mrays/s=" + getMraysPerSecond() +
+                '}';
+    }
+}
@@ -0,0 +1,153 @@
+package renderer;
+
+import elements.Camera;
+import elements.LightSource;
+import elements.PointLight;
+import primitives.Point3D;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * class TileLights - the candidate lights of every image tile for the camera rays
+ * hits. The influence sphere of every light (see PointLight.getInfluenceRadius) is
+ * tested against the view frustum of every tile (the 4 planes through the camera
+ * and the tile edges, and the plane of the camera), a light whose sphere is out of
+ * the frustum can not light any point seen through the tile above the cutoff.
+ * Lights without a position are candidates of all the tiles. The lists keep the
+ * scene lights order
+ *
+ * @author AhronS, IsraelN
+ */
+final class TileLights {
+    // relative tolerance of the sphere tests, a point on a tile edge belongs to both tiles
+    private static final double EPSILON = 1e-9;
+    private final List<List<LightSource>> _tiles;
+
+    /**
+     * constructor - bins the lights to the tiles
+     *
+     * @param camera   the camera
+     * @param nX       pixels on width
+     * @param nY       pixels on height
+     * @param distance dst from view plane
+     * @param width    screen width
+     * @param height   screen height
+     * @param tileSize tile edge size (in pixels)
+     * @param lights   the lights of the scene
+     * @param cutoff   the light intensity cutoff
+     */
+    TileLights(Camera camera, int nX, int nY, double distance, double width, double height,
+               int tileSize, List<LightSource> lights, double cutoff) {
+        int tilesX = (nX + tileSize - 1) / tileSize;
+        int tilesY = (nY + tileSize - 1) / tileSize;
+        // the influence spheres (center and radius, the radius is infinite for lights without a position)
+        double[] spheres = new double[4 * lights.size()];
+        int l = 0;
+        for (LightSource light : lights) {
+            if (light instanceof PointLight) {
+                PointLight pointLight = (PointLight) light;
+                Point3D position = pointLight.getPosition();
+                spheres[l] = position.getXValue();
+                spheres[l + 1] = position.getYValue();
+                spheres[l + 2] = position.getZValue();
+                spheres[l + 3] = pointLight.getInfluenceRadius(cutoff);
+            } else
+                spheres[l + 3] = Double.POSITIVE_INFINITY;
+            l += 4;
+        }
+
+        Point3D place = camera.getPlace();
+        double px = place.getXValue(), py = place.getYValue(), pz = place.getZValue();
+        double[] to = coordinates(camera.getVto().getHead());
+        double[] up = coordinates(camera.getVup().getHead());
+        double[] right = coordinates(camera.getVright().getHead());
+        double rx = width / nX, ry = height / nY;
+        // directions through the tiles corners (tilesX + 1 by tilesY + 1)
+        double[][] corners = new double[(tilesX + 1) * (tilesY + 1)][];
+        for (int i = 0; i <= tilesY; ++i)
+            for (int j = 0; j <= tilesX; ++j) {
+                double x = (Math.min(j * tileSize, nX) - nX / 2d) * rx;
+                double y = (Math.min(i * tileSize, nY) - nY / 2d) * ry;
+                double[] corner = new double[3];
+                for (int c = 0; c < 3; ++c)
+                    corner[c] = to[c] * distance + right[c] * x - up[c] * y;
+                corners[i * (tilesX + 1) + j] = corner;
+            }
+
+        _tiles = new ArrayList<>(tilesX * tilesY);
+        double[][] planes = new double[4][];
+        for (int i = 0; i < tilesY; ++i)
+            for (int j = 0; j < tilesX; ++j) {
+                double[][] tile = {corners[i * (tilesX + 1) + j], corners[i * (tilesX + 1) + j + 1],
+                        corners[(i + 1) * (tilesX + 1) + j + 1], corners[(i + 1) * (tilesX + 1) + j]};
+                double[] center = new double[3];
+                for (double[] corner : tile)
+                    for (int c = 0; c < 3; ++c)
+                        center[c] += corner[c];
+                for (int e = 0; e < 4; ++e)
+                    planes[e] = innerNormal(tile[e], tile[(e + 1) % 4], center);
+                List<LightSource> tileLights = new ArrayList<>();
+                l = 0;
+                for (LightSource light : lights) {
+                    double radius = spheres[l + 3];
+                    if (radius == Double.POSITIVE_INFINITY
+                            || inFrustum(spheres[l] - px, spheres[l + 1] - py, spheres[l + 2] - pz, radius, to, planes))
+                        tileLights.add(light);
+                    l += 4;
+                }
+                _tiles.add(tileLights);
+            }
+    }
+
+    /**
+     * TileLights getter
+     *
+     * @param tile tile index (row after row)
+     * @return the candidate lights of the tile
+     */
+    List<LightSource> get(int tile) {
+        return _tiles.get(tile);
+    }
+
+    /**
+     * check if a sphere intersects the frustum
+     *
+     * @param x      sphere center x (relative to the camera)
+     * @param y      sphere center y (relative to the camera)
+     * @param z      sphere center z (relative to the camera)
+     * @param radius sphere radius
+     * @param to     the camera forward direction
+     * @param planes inner normals of the frustum side planes
+     * @return false if the sphere is surely out of the frustum
+     */
+    private static boolean inFrustum(double x, double y, double z, double radius, double[] to, double[][] planes) {
+        double tolerance = radius * (1 + EPSILON) + EPSILON;
+        if (x * to[0] + y * to[1] + z * to[2] < -tolerance)
+            return false;
+        for (double[] n : planes)
+            if (x * n[0] + y * n[1] + z * n[2] < -tolerance)
+                return false;
+        return true;
+    }
+
+    /**
+     * unit normal of the plane through the camera and two corner directions, towards the tile center
+     */
+    private static double[] innerNormal(double[] a, double[] b, double[] center) {
+        double[] n = {a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0]};
+        double length = Math.sqrt(n[0] * n[0] + n[1] * n[1] + n[2] * n[2]);
+        if (n[0] * center[0] + n[1] * center[1] + n[2] * center[2] < 0)
+            length = -length;
+        for (int c = 0; c < 3; ++c)
+            n[c] /= length;
+        return n;
+    }
+
+    /**
+     * the coordinates of a point as 3 values
+     */
+    private static double[] coordinates(Point3D point) {
+        return new double[]{point.getXValue(), point.getYValue(), point.getZValue()};
+    }
+}
@@ -0,0 +1,158 @@
+package renderer;
+
+import elements.LightSample;
+import elements.LightSource;
+import geometries.Geometry;
+import geometries.Intersectable.GeoPoint;
+import primitives.Color;
+import primitives.Material;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * class TraceContext - per thread state of the ray tracing.
+ * It holds the explicit stack of the ray tree evaluation (one frame for every
+ * ray tree level under evaluation), the arrays are reused for all the pixels
+ * of the thread and grow on demand. It holds the random generator of the
+ * thread as well (SplitMix64, seeded for every pixel), the list of the
+ * lights of the shaded point, the holder of the light samples and the last
+ * occluders of the lights
+ *
+ * @author AhronS, IsraelN
+ */
+final class TraceContext {
+    private static final int INITIAL_DEPTH = 16;
+
+    // frames values - intentionally "package-friendly" due to performance constraints
+    GeoPoint[] _geoPoint = new GeoPoint[INITIAL_DEPTH];
+    Ray[] _ray = new Ray[INITIAL_DEPTH];
+    Vector[] _normal = new Vector[INITIAL_DEPTH];
+    Material[] _material = new Material[INITIAL_DEPTH];
+    int[] _level = new int[INITIAL_DEPTH];
+    double[] _k = new double[INITIAL_DEPTH];
+    /**
+     * the color of the frame so far (its own light and the finished sub trees)
+     */
+    Color[] _color = new Color[INITIAL_DEPTH];
+    /**
+     * the next step of the frame: reflection, refraction or done
+     */
+    int[] _stage = new int[INITIAL_DEPTH];
+    /**
+     * the factor of the sub tree under evaluation (the material factor, reweighted by russian roulette)
+     */
+    double[] _subTreeScale = new double[INITIAL_DEPTH];
+    /**
+     * amount of frames in the stack
+     */
+    int _top;
+    /**
+     * the lights of the shaded point (see LightBVH.findLights)
+     */
+    final List<LightSource> _lights = new ArrayList<>();
+    /**
+     * the candidate lights of the camera rays hits of the tile under rendering (null - no tile lists)
+     */
+    List<LightSource> _tileLights;
+    /**
+     * the sample of the light under evaluation (see LightSource.sample)
+     */
+    final LightSample _lightSample = new LightSample();
+    /**
+     * the last opaque geometry that blocked a shadow ray of every light (see Render.setOccluderCache)
+     */
+    final Map<LightSource, Geometry> _occluders = new IdentityHashMap<>();
+    /**
+     * the opaque geometry that blocked the shadow ray under evaluation (see Intersectable.findTransparency)
+     */
+    final Geometry[] _occluder = new Geometry[1];
+
+    private long _randomState;
+
+    // ****************************** Functions *****************************/
+
+    /**
+     * push a frame on the stack
+     *
+     * @param geoPoint the intersection of the frame
+     * @param ray      the ray that hit the intersection
+     * @param normal   the normal at the intersection
+     * @param material the material at the intersection
+     * @param level    remaining recursion levels
+     * @param k        the accumulated color factor
+     * @param color    the own color of the intersection
+     */
+    void push(GeoPoint geoPoint, Ray ray, Vector normal, Material material, int level, double k, Color color) {
+        if (_top == _level.length)
+            grow();
+        int f = _top++;
+        _geoPoint[f] = geoPoint;
+        _ray[f] = ray;
+        _normal[f] = normal;
+        _material[f] = material;
+        _level[f] = level;
+        _k[f] = k;
+        _color[f] = color;
+        _stage[f] = 0;
+    }
+
+    /**
+     * pop the top frame, the references are released
+     *
+     * @return the color of the frame
+     */
+    Color pop() {
+        int f = --_top;
+        Color color = _color[f];
+        _geoPoint[f] = null;
+        _ray[f] = null;
+        _normal[f] = null;
+        _material[f] = null;
+        _color[f] = null;
+        return color;
+    }
+
+    /**
+     * seed the random generator
+     *
+     * @param seed the seed
+     */
+    void setSeed(long seed) {
+        _randomState = seed;
+    }
+
+    /**
+     * next random number (SplitMix64)
+     *
+     * @return uniform random number in [0, 1)
+     */
+    double nextRandom() {
+        long z = (_randomState += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * double the stack capacity
+     */
+    private void grow() {
+        int depth = 2 * _level.length;
+        _geoPoint = Arrays.copyOf(_geoPoint, depth);
+        _ray = Arrays.copyOf(_ray, depth);
+        _normal = Arrays.copyOf(_normal, depth);
+        _material = Arrays.copyOf(_material, depth);
+        _level = Arrays.copyOf(_level, depth);
+        _k = Arrays.copyOf(_k, depth);
+        _color = Arrays.copyOf(_color, depth);
+        _stage = Arrays.copyOf(_stage, depth);
+        _subTreeScale = Arrays.copyOf(_subTreeScale, depth);
+    }
+}
@@ -0,0 +1,125 @@
+package scene;
+
+import elements.AmbientLight;
+import elements.Camera;
+import elements.LightBVH;
+import elements.LightSource;
+import geometries.Geometries;
+import primitives.Color;
+
+import java.util.List;
+
+/**
+ * class RenderScene - the frozen form of a scene that the renderer consumes
+ * (see Scene.compile): the geometries are flat, grouped by class and share
+ * their equal materials and emissions, the configured acceleration structures
+ * (geometries BVH, lights hierarchy) are built, and the lights are kept in an
+ * array list. Nothing in it changes, so one compiled scene may be rendered by
+ * many renders and threads
+ *
+ * @author AhronS, IsraelN
+ */
+public final class RenderScene {
+    private final String _name;
+    private final Color _background;
+    private final AmbientLight _ambientLight;
+    private final Camera _camera;
+    private final double _distance;
+    private final Geometries _geometries;
+    private final List<LightSource> _lights;
+    // the hierarchy of the lights, null if it is turned off
+    private final LightBVH _lightBVH;
+
+    // ****************************** Constructors *****************************//
+
+    /**
+     * constructor - freezes a scene
+     *
+     * @param scene      the scene
+     * @param geometries the compiled geometries of the scene
+     */
+    RenderScene(Scene scene, Geometries geometries) {
+        _name = scene.getName();
+        _background = scene.getBackground();
+        _ambientLight = scene.getAmbientLight();
+        _camera = scene.getCamera();
+        _distance = scene.getDistance();
+        _geometries = geometries;
+        _lights = List.copyOf(scene.getLights());
+        _lightBVH = scene.getLightBVH();
+    }
+
+    // ****************************** Getters *****************************//
+
+    /**
+     * RenderScene getter
+     *
+     * @return _name value
+     */
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * RenderScene getter
+     *
+     * @return _background value
+     */
+    public Color getBackground() {
+        return _background;
+    }
+
+    /**
+     * RenderScene getter
+     *
+     * @return _ambientLight value
+     */
+    public AmbientLight getAmbientLight() {
+        return _ambientLight;
+    }
+
+    /**
+     * RenderScene getter
+     *
+     * @return _camera value
+     */
+    public Camera getCamera() {
+        return _camera;
+    }
+
+    /**
+     * RenderScene getter
+     *
+     * @return _distance value
+     */
+    public double getDistance() {
+        return _distance;
+    }
+
+    /**
+     * RenderScene getter
+     *
+     * @return the compiled geometries
+     */
+    public Geometries getGeometries() {
+        return _geometries;
+    }
+
+    /**
+     * RenderScene getter
+     *
+     * @return the lights (can not be changed)
+     */
+    public List<LightSource> getLights() {
+        return _lights;
+    }
+
+    /**
+     * RenderScene getter
+     *
+     * @return the hierarchy of the lights, null if it is turned off
+     */
+    public LightBVH getLightBVH() {
+        return _lightBVH;
+    }
+}
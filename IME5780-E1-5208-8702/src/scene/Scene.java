@@ -23,6 +23,12 @@ public class Scene {
     private Camera _camera;
     private double _distance;
     private List<LightSource> _lights;
+    private boolean _bvh = false;
+    private boolean _lightBVH = false;
+    // the hierarchy of the lights, built on demand
+    private LightBVH _lightHierarchy;
+    // the compiled scene, null when the scene was changed since the last compile
+    private RenderScene _compiled;
     // ****************************** Constructors *****************************//
 
     /**
@@ -67,13 +73,25 @@ public class Scene {
 
     /**
      * Scene getter
+     * (with BVH turned on - the hierarchy is built here if it is not built yet)
      *
      * @return _geometries value
      */
     public Geometries getGeometries() {
+        if (_bvh)
+            _geometries.buildBVH();
         return _geometries;
     }
 
+    /**
+     * Scene getter
+     *
+     * @return whether the geometries are accelerated by bounding volume hierarchy
+     */
+    public boolean isBVH() {
+        return _bvh;
+    }
+
     /**
      * Scene getter
      *
@@ -95,6 +113,20 @@ public class Scene {
     public List<LightSource> getLights() {
         return _lights;
     }
+
+    /**
+     * Scene getter
+     * (with light BVH turned on - the hierarchy is built here if it is not built yet)
+     *
+     * @return the hierarchy of the lights, null if it is turned off
+     */
+    public LightBVH getLightBVH() {
+        if (!_lightBVH)
+            return null;
+        if (_lightHierarchy == null)
+            _lightHierarchy = new LightBVH(_lights);
+        return _lightHierarchy;
+    }
     // ****************************** Setters *****************************//
 
     /**
@@ -102,6 +134,7 @@ public class Scene {
      */
     public void setBackground(Color _background) {
         this._background = _background;
+        _compiled = null;
     }
 
     /**
@@ -109,6 +142,7 @@ public class Scene {
      */
     public void setAmbientLight(AmbientLight _ambientLight) {
         this._ambientLight = _ambientLight;
+        _compiled = null;
     }
 
     /**
@@ -116,6 +150,7 @@ public class Scene {
      */
     public void setCamera(Camera _camera) {
         this._camera = _camera;
+        _compiled = null;
     }
 
     /**
@@ -123,6 +158,23 @@ public class Scene {
      */
     public void setDistance(double _distance) {
         this._distance = _distance;
+        _compiled = null;
+    }
+
+    /**
+     * Scene setter for bounding volume hierarchy over the geometries
+     */
+    public void setBVH(boolean _bvh) {
+        this._bvh = _bvh;
+        _compiled = null;
+    }
+
+    /**
+     * Scene setter for bounding volume hierarchy over the lights
+     */
+    public void setLightBVH(boolean lightBVH) {
+        this._lightBVH = lightBVH;
+        _compiled = null;
     }
 
     // ****************************** Functions *****************************//
@@ -136,6 +188,21 @@ public class Scene {
         for (Intersectable geometry : geometries) {
             _geometries.add(geometry);
         }
+        _compiled = null;
+    }
+
+    /**
+     * func compile - the frozen form of the scene for the renderer (see RenderScene).
+     * The scene itself is not changed (see Geometries.compile). The scene is compiled once - the next
+     * calls return the same compiled scene until the scene is changed by its setters
+     * and add functions (a change through getGeometries or getLights is not tracked)
+     *
+     * @return the compiled scene
+     */
+    public RenderScene compile() {
+        if (_compiled == null)
+            _compiled = new RenderScene(this, _geometries.compile(_bvh));
+        return _compiled;
     }
 
     /**
@@ -145,8 +212,11 @@ public class Scene {
      */
 
     public void addLights(LightSource... lights) {
-        if (lights != null)
+        if (lights != null) {
             _lights.addAll(Arrays.asList(lights));
+            _lightHierarchy = null;
+            _compiled = null;
+        }
     }
 }
 
@@ -11,6 +11,10 @@ import renderer.ImageWriter;
 import renderer.Render;
 import scene.Scene;
 
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
 /**
  * Testing Camera Class
  *
@@ -57,7 +61,83 @@ public class CameraTest {
                 camera.constructRayThroughPixel(3, 3, 0, 1, 10, 6, 6));
     }
 
+    /**
+     * Test method for
+     * {@link elements.Camera#raysThroughPixel(int, int, int, int, double, double, double)}.
+     */
+    @Test
+    public void testRaysThroughPixel() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Camera with depth of field - the rays of constructRaysThroughPixel in the same order
+        Camera camera = new Camera(Point3D.ZERO, new Vector(0, 0, 1), new Vector(0, -1, 0), 9, 100, 2);
+        List<Ray> rays = new LinkedList<>();
+        camera.raysThroughPixel(3, 3, 0, 0, 10, 6, 6).forEachRemaining(rays::add);
+        assertEquals("Bad rays", camera.constructRaysThroughPixel(3, 3, 0, 0, 10, 6, 6), rays);
+        assertEquals("Bad amount of rays", 10, rays.size());
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Camera without depth of field - only the ray through the pixel center
+        camera = new Camera(Point3D.ZERO, new Vector(0, 0, 1), new Vector(0, -1, 0));
+        Iterator<Ray> iterator = camera.raysThroughPixel(3, 3, 1, 1, 10, 6, 6);
+        assertEquals("Bad ray", new Ray(Point3D.ZERO, new Vector(0, 0, 10)), iterator.next());
+        assertFalse("Too many rays", iterator.hasNext());
+    }
+
+    /**
+     * Test method for
+     * {@link elements.Camera#constructFocalRay(Ray, int, Sampler, long)}.
+     */
+    @Test
+    public void testConstructFocalRay() {
+        Camera camera = new Camera(Point3D.ZERO, new Vector(0, 0, 1), new Vector(0, -1, 0), 5, 100, 2);
+        Ray centerRay = new Ray(Point3D.ZERO, new Vector(0, 0, 1));
+        Sampler sampler = new SobolSampler();
+        long scramble = Sampler.scramble(5208, 3, 7);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the first 4 aperture rays start in the 4 quarters of the aperture (a stratified Sobol prefix)
+        boolean[] quarters = new boolean[4];
+        for (int sample = 1; sample <= 4; ++sample) {
+            Point3D p0 = camera.constructFocalRay(centerRay, sample, sampler, scramble).getP0();
+            int quarter = (p0.getXValue() > 0 ? 1 : 0) + (p0.getYValue() > 0 ? 2 : 0);
+            assertFalse("Aperture quarter sampled twice", quarters[quarter]);
+            quarters[quarter] = true;
+        }
 
+        // =============== Boundary Values Tests ==================
+        // TC11: sample 0 is the center ray itself
+        assertSame("Bad center ray", centerRay, camera.constructFocalRay(centerRay, 0, sampler, scramble));
+    }
 
+    /**
+     * Test method for
+     * {@link elements.Camera.Projection#constructRay(int, int)}.
+     */
+    @Test
+    public void testProjection() {
+        Camera camera = new Camera(new Point3D(1, 2, 3), new Vector(0, 1, 1), new Vector(0, 1, -1));
+        Camera.Projection projection = camera.prepare(4, 3, 10, 8, 6);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the rays of constructRayThroughPixel for all the pixels
+        for (int i = 0; i < 3; ++i)
+            for (int j = 0; j < 4; ++j)
+                assertEquals("Bad ray", camera.constructRayThroughPixel(4, 3, j, i, 10, 8, 6),
+                        projection.constructRay(j, i));
+
+        // TC02: the projection is only for its camera and view plane
+        assertTrue("Bad projection check", projection.isFor(camera, 4, 3, 10, 8, 6));
+        assertFalse("Bad projection check", projection.isFor(camera, 4, 3, 11, 8, 6));
+        assertFalse("Bad projection check",
+                projection.isFor(new Camera(new Point3D(1, 2, 3), new Vector(0, 1, 1), new Vector(0, 1, -1)), 4, 3, 10, 8, 6));
 
+        // =============== Boundary Values Tests ==================
+        // TC11: view plane on the camera
+        try {
+            camera.prepare(4, 3, 0, 8, 6);
+            fail("Prepared a projection with zero distance");
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+    }
 }
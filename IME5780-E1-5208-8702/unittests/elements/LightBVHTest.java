@@ -0,0 +1,58 @@
+package elements;
+
+import org.junit.Test;
+import primitives.Color;
+import primitives.Point3D;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testing LightBVH
+ *
+ * @author AhronS and IsraelN
+ */
+public class LightBVHTest {
+
+    /**
+     * Test method for
+     * {@link elements.LightBVH#findLights(Point3D, double, List)}.
+     */
+    @Test
+    public void testFindLights() {
+        PointLight near = new PointLight(new Color(100, 100, 100), new Point3D(0, 0, 10), 1, 0, 0.01);
+        PointLight far = new PointLight(new Color(100, 100, 100), new Point3D(1000, 0, 10), 1, 0, 0.01);
+        SpotLight towards = new SpotLight(new Color(100, 100, 100), new Point3D(0, 10, 10), new Vector(0, -1, -1), 1, 0, 0);
+        SpotLight away = new SpotLight(new Color(100, 100, 100), new Point3D(10, 0, 10), new Vector(0, 0, 1), 1, 0, 0);
+        DirectionalLight directional = new DirectionalLight(new Color(10, 10, 10), new Vector(0, 0, -1));
+        LightBVH bvh = new LightBVH(List.of(near, directional, far, towards, away));
+        Point3D point = Point3D.ZERO;
+        List<LightSource> lights = new ArrayList<>();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: zero cutoff - only the spot that faces away is skipped, the lights in the scene order
+        bvh.findLights(point, 0, lights);
+        assertEquals("Bad lights", List.of(near, directional, far, towards), lights);
+
+        // TC02: cutoff - the far (weak) light is skipped as well, the directional light is kept
+        lights.clear();
+        bvh.findLights(point, 1, lights);
+        assertEquals("Bad lights", List.of(near, directional, towards), lights);
+
+        // TC03: improved spot facing away - lights behind it with an even concentration, kept
+        SpotLightImproved improved = new SpotLightImproved(new Color(100, 100, 100), new Point3D(10, 0, 10),
+                new Vector(0, 0, 1), 1, 0, 0, 2);
+        lights.clear();
+        new LightBVH(List.of(improved)).findLights(point, 0, lights);
+        assertEquals("Improved spot was skipped", List.of(improved), lights);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: no lights
+        lights.clear();
+        new LightBVH(List.of()).findLights(point, 0, lights);
+        assertTrue("Bad lights of empty hierarchy", lights.isEmpty());
+    }
+}
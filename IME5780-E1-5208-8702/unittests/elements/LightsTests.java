@@ -2,6 +2,8 @@ package elements;
 
 import org.junit.Test;
 
+import static org.junit.Assert.*;
+
 import elements.*;
 import geometries.*;
 import primitives.*;
@@ -233,4 +235,139 @@ public class LightsTests {
         render.renderImage();
         render.writeToImage();
     }
+
+    /**
+     * Produce a picture of spheres on a floor lighted by a grid of many weak point lights,
+     * the lights are culled by their influence radius and by the tiles light lists
+     * (the same pixels as without the tiles lists)
+     */
+    @Test
+    public void manyPointLights() {
+        Scene scene = manyPointLightsScene();
+        ImageWriter flatWriter = new ImageWriter("manyPointLightsFlat", 1600, 1600, 400, 400);
+        Render render = new Render(flatWriter, scene);
+        render.setLightCutoff(0.5);
+        RenderStatistics flat = render.renderImage();
+
+        ImageWriter imageWriter = new ImageWriter("manyPointLights", 1600, 1600, 400, 400);
+        render = new Render(imageWriter, scene);
+        render.setLightCutoff(0.5);
+        render.setTileLightCulling(true);
+        RenderStatistics tiles = render.renderImage();
+        render.writeToImage();
+        assertEquals("Tile lists changed the lighted points", flat.getShadowRays(), tiles.getShadowRays());
+        assertArrayEquals("Tile lists changed the pixels", flatWriter.getPixels(), imageWriter.getPixels());
+        assertTrue("No light was culled", tiles.getCulledLights() > 0);
+    }
+
+    /**
+     * Produce a picture of spheres on a floor lighted by a grid of many weak point lights,
+     * the lights are found by the scene lights hierarchy (the same pixels as without it)
+     */
+    @Test
+    public void manyPointLightsHierarchy() {
+        Scene scene = manyPointLightsScene();
+        ImageWriter flatWriter = new ImageWriter("manyPointLightsFlat", 1600, 1600, 200, 200);
+        Render render = new Render(flatWriter, scene);
+        render.setLightCutoff(0.5);
+        render.renderImage();
+
+        scene.setLightBVH(true);
+        ImageWriter imageWriter = new ImageWriter("manyPointLightsHierarchy", 1600, 1600, 200, 200);
+        render = new Render(imageWriter, scene);
+        render.setLightCutoff(0.5);
+        RenderStatistics hierarchy = render.renderImage();
+        assertArrayEquals("Lights hierarchy changed the pixels", flatWriter.getPixels(), imageWriter.getPixels());
+        assertTrue("No light was culled", hierarchy.getCulledLights() > 0);
+    }
+
+    /**
+     * Test the single pass light sample of the point lights - the same pixels as
+     * by the separate light queries (getL, getDistance, getIntensity)
+     */
+    @Test
+    public void sphereLightSample() {
+        LightSource[] lights = {
+                new PointLight(new Color(500, 300, 0), new Point3D(-50, 50, -50), 1, 0.00001, 0.000001),
+                new SpotLight(new Color(300, 500, 0), new Point3D(50, 50, -50), new Vector(-1, -1, 2), 1, 0.00001, 0.00000001),
+                new SpotLightImproved(new Color(0, 300, 500), new Point3D(0, -60, -50), new Vector(0, 1, 1), 1, 0.00001, 0.00000001, 5)};
+        LightSource[] queried = new LightSource[lights.length];
+        for (int i = 0; i < lights.length; ++i)
+            queried[i] = new QueriedLight(lights[i]);
+
+        ImageWriter expected = new ImageWriter("sphereLightQueries", 150, 150, 200, 200);
+        Render render = new Render(expected, sphereLightSampleScene(queried));
+        render.renderImage();
+
+        ImageWriter imageWriter = new ImageWriter("sphereLightSample", 150, 150, 200, 200);
+        render = new Render(imageWriter, sphereLightSampleScene(lights));
+        render.renderImage();
+        assertArrayEquals("Light sample changed the pixels", expected.getPixels(), imageWriter.getPixels());
+    }
+
+    /**
+     * a sphere over a triangle lighted by the given lights
+     */
+    private static Scene sphereLightSampleScene(LightSource... lights) {
+        Scene scene = new Scene("Test scene");
+        scene.setCamera(new Camera(new Point3D(0, 0, -1000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+        scene.setDistance(1000);
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(Color.BLACK, 0));
+
+        scene.addGeometries(
+                new Sphere(new Color(java.awt.Color.BLUE), new Material(0.5, 0.5, 100), 40, new Point3D(0, 0, 50)),
+                new Triangle(Color.BLACK, new Material(0.5, 0.5, 300), new Point3D(-150, 150, 150),
+                        new Point3D(150, 150, 150), new Point3D(0, -150, 150)));
+        scene.addLights(lights);
+        return scene;
+    }
+
+    /**
+     * light source that answers by the separate queries of another light (the default sample)
+     */
+    private static class QueriedLight implements LightSource {
+        private final LightSource _light;
+
+        QueriedLight(LightSource light) {
+            _light = light;
+        }
+
+        @Override
+        public double getDistance(Point3D point) {
+            return _light.getDistance(point);
+        }
+
+        @Override
+        public Color getIntensity(Point3D p) {
+            return _light.getIntensity(p);
+        }
+
+        @Override
+        public Vector getL(Point3D p) {
+            return _light.getL(p);
+        }
+    }
+
+    /**
+     * spheres on a floor under a grid of 20 x 20 point lights
+     */
+    private static Scene manyPointLightsScene() {
+        Scene scene = new Scene("Test scene");
+        scene.setCamera(new Camera(new Point3D(0, 0, -8000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+        scene.setDistance(8000);
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(Color.BLACK, 0));
+
+        scene.addGeometries(new Plane(new Material(0.6, 0.2, 20), new Color(20, 20, 20),
+                new Point3D(3, 7, 200), new Vector(0, 0, -1)));
+        for (int i = -3; i <= 3; ++i)
+            scene.addGeometries(new Sphere(new Color(0, 0, 60), new Material(0.5, 0.5, 30), 60,
+                    new Point3D(i * 200, i * i * 30 - 200, 140)));
+        for (int i = 0; i < 20; ++i)
+            for (int j = 0; j < 20; ++j)
+                scene.addLights(new PointLight(new Color(2000, 1200, 600),
+                        new Point3D(i * 100 - 950, j * 100 - 950, 100), 1, 0.01, 0.02));
+        return scene;
+    }
 }
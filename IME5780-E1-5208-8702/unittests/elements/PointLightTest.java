@@ -0,0 +1,97 @@
+package elements;
+
+import org.junit.Test;
+import primitives.Color;
+import primitives.Point3D;
+import primitives.Vector;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testing PointLight and SpotLight influence and samples
+ *
+ * @author AhronS and IsraelN
+ */
+public class PointLightTest {
+
+    /**
+     * Test method for
+     * {@link elements.PointLight#getInfluenceRadius(double)}.
+     */
+    @Test
+    public void testGetInfluenceRadius() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: quadratic attenuation - the intensity at the radius is the cutoff
+        PointLight light = new PointLight(new Color(100, 50, 0), Point3D.ZERO, 1, 0.1, 0.01);
+        double radius = light.getInfluenceRadius(0.5);
+        assertEquals("Bad influence radius", 0.5,
+                light.getIntensity(new Point3D(radius, 0, 0)).getMax(), 1e-9);
+
+        // TC02: linear attenuation
+        assertEquals("Bad influence radius", 90,
+                new PointLight(new Color(10, 0, 0), Point3D.ZERO, 1, 0.1, 0).getInfluenceRadius(1), 1e-9);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: no cutoff
+        assertEquals("Bad influence radius", Double.POSITIVE_INFINITY, light.getInfluenceRadius(0), 0);
+
+        // TC12: light under the cutoff everywhere
+        assertEquals("Bad influence radius", 0, light.getInfluenceRadius(200), 0);
+
+        // TC13: light without attenuation
+        assertEquals("Bad influence radius", Double.POSITIVE_INFINITY,
+                new PointLight(new Color(10, 0, 0), Point3D.ZERO, 1, 0, 0).getInfluenceRadius(1), 0);
+    }
+
+    /**
+     * Test method for
+     * {@link elements.SpotLight#canLight(Point3D, double)}.
+     */
+    @Test
+    public void testCanLight() {
+        SpotLight spot = new SpotLight(new Color(100, 100, 100), Point3D.ZERO, new Vector(0, 0, 1), 1, 0, 0.01);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: point in front of the spot, in its influence
+        assertTrue("Bad light check", spot.canLight(new Point3D(5, 0, 10), 0.5));
+
+        // TC02: point in front of the spot, beyond its influence
+        assertFalse("Bad light check", spot.canLight(new Point3D(0, 0, 200), 0.5));
+
+        // TC03: point behind the spot
+        assertFalse("Bad light check", spot.canLight(new Point3D(0, 0, -10), 0));
+
+        // =============== Boundary Values Tests ==================
+        // TC11: point on the plane of the spot
+        assertFalse("Bad light check", spot.canLight(new Point3D(10, 0, 0), 0));
+    }
+
+    /**
+     * Test method for
+     * {@link elements.PointLight#sample(Point3D, LightSample)}.
+     */
+    @Test
+    public void testSample() {
+        Point3D point = new Point3D(3, -4, 12);
+        LightSample sample = new LightSample();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: every kind of light - the same values as the separate queries
+        LightSource[] lights = {
+                new PointLight(new Color(100, 50, 0), new Point3D(1, 2, 3), 1, 0.1, 0.01),
+                new SpotLight(new Color(100, 50, 0), new Point3D(1, 2, 3), new Vector(1, -2, 2), 1, 0.1, 0.01),
+                new SpotLightImproved(new Color(100, 50, 0), new Point3D(1, 2, 3), new Vector(1, -2, 2), 1, 0.1, 0.01, 3),
+                new DirectionalLight(new Color(10, 20, 30), new Vector(0, 0, -1))};
+        for (LightSource light : lights) {
+            light.sample(point, sample);
+            assertEquals("Bad light vector", light.getL(point), sample.getL());
+            assertEquals("Bad distance", light.getDistance(point), sample.getDistance(), 0);
+            assertEquals("Bad intensity", light.getIntensity(point).getColor(), sample.getIntensity().getColor());
+            assertEquals("Bad intensity", light.getIntensity(point).getMax(), sample.getIntensity().getMax(), 0);
+        }
+
+        // TC02: point behind a spot - dark
+        new SpotLight(new Color(100, 50, 0), Point3D.ZERO, new Vector(0, 0, -1), 1, 0, 0).sample(point, sample);
+        assertEquals("Bad intensity behind the spot", 0, sample.getIntensity().getMax(), 0);
+    }
+}
@@ -1,6 +1,8 @@
 package geometries;
 
 import org.junit.Test;
+import primitives.Color;
+import primitives.Material;
 import primitives.Point3D;
 import primitives.Ray;
 import primitives.Vector;
@@ -51,4 +53,174 @@ public class GeometriesTest {
                 geometries.findIntersections(new Ray(new Point3D(6,-3,0), new Vector(-6,6,2))));
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Test Method for Geometries with bounding volume hierarchy
+     * {@link Geometries#buildBVH()}
+     */
+    @Test
+    public void findIntersectionsBVH() {
+        Sphere sphere = new Sphere(1d, new Point3D(3, 0 ,0));
+        Triangle triangle = new Triangle(
+                new Point3D(0,1,0), new Point3D(0,4,0), new Point3D(0,3,1.82));
+        Plane plane = new Plane(new Point3D(1,0,0), new Point3D(3,4,0), new Point3D(2,2,3));
+
+        // ============ Equivalence Partitions Tests ==============
+        Geometries geometries = new Geometries();
+        geometries.add(sphere, triangle, plane);
+        geometries.buildBVH();
+
+        //TC01: No geometry is intersected (0 points)
+        assertNull("No geometry is intersected",
+                geometries.findIntersections(new Ray(new Point3D(2,-4,0), new Vector(3, 0, 0))));
+
+        //TC02: Only the unbounded plane is intersected (1 point)
+        assertEquals("one geometry is intersected" ,1,
+                (geometries.findIntersections(new Ray(new Point3D(2,-3,0), new Vector(-2, 1, 1.5)))).size());
+
+        //TC03: Many (But not All) geometries are intersected (2 points)
+        assertEquals( "Not all geometries intersected" ,2,
+                (geometries.findIntersections(new Ray(new Point3D(2,-3,0), new Vector(-2, 6, 0.6)))).size());
+
+        //TC04: The geometries beyond max distance are not intersected (1 point)
+        assertEquals( "Geometries beyond max distance" ,1,
+                (geometries.findIntersections(new Ray(new Point3D(5,-2,0), new Vector(-5, 5, 0.5)), 2)).size());
+
+        // =============== Boundary Values Tests ==================
+        //TC05: All the geometries are intersected (4 points)
+        assertEquals("All geometries are intersected" ,4,
+                (geometries.findIntersections(new Ray(new Point3D(5,-2,0), new Vector(-5, 5, 0.5)))).size());
+
+        //TC06: Geometry added after the build is intersected too (1 point)
+        geometries = new Geometries(sphere);
+        geometries.buildBVH();
+        geometries.add(triangle);
+        assertEquals("Geometry added after build" ,1,
+                (geometries.findIntersections(new Ray(new Point3D(0.5,2,0.5), new Vector(-1, 0, 0)))).size());
+
+        //TC07: Objects Collection is empty (0 points)
+        geometries = new Geometries();
+        geometries.buildBVH();
+        assertNull("Collection is empty",
+                geometries.findIntersections(new Ray(new Point3D(6,-3,0), new Vector(-6,6,2))));
+    }
+
+    /**
+     * Test Method for Geometries shadow queries
+     * {@link Geometries#hasIntersection(Ray, double)}
+     * {@link Geometries#findTransparency(Ray, double, double, double)}
+     * {@link Geometries#findTransparency(Ray, double, double, double, Geometry[])}
+     */
+    @Test
+    public void testShadowQueries() {
+        Sphere glass = new Sphere(Color.BLACK, new Material(0, 0, 0, 0.5, 0), 1, new Point3D(3, 0, 0));
+        Triangle wall = new Triangle(new Point3D(6, -2, -2), new Point3D(6, 2, -2), new Point3D(6, 0, 2));
+        Geometries geometries = new Geometries(glass, wall);
+        Ray ray = new Ray(new Point3D(0, 0, 0), new Vector(1, 0, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        //TC01: Nothing before max distance
+        assertFalse("intersection before the geometries", geometries.hasIntersection(ray, 1));
+        assertEquals("transparency before the geometries", 1, geometries.findTransparency(ray, 1, 1, 0.001), 0.00001);
+
+        //TC02: Only the transparent sphere (2 points)
+        assertTrue("intersection with the sphere", geometries.hasIntersection(ray, 5));
+        assertEquals("transparency through the sphere", 0.25, geometries.findTransparency(ray, 5, 1, 0.001), 0.00001);
+
+        //TC03: The opaque triangle blocks the ray - it is the occluder
+        assertEquals("transparency through the wall", 0, geometries.findTransparency(ray, 10, 1, 0.001), 0.00001);
+        Geometry[] occluder = new Geometry[1];
+        geometries.findTransparency(ray, 10, 1, 0.001, occluder);
+        assertSame("occluder of the wall", wall, occluder[0]);
+
+        // =============== Boundary Values Tests ==================
+        //TC04: Transparency falls below min k - no occluder
+        occluder[0] = null;
+        assertEquals("transparency below min k", 0, geometries.findTransparency(ray, 5, 1, 0.5, occluder), 0.00001);
+        assertNull("occluder below min k", occluder[0]);
+
+        //TC05: Same answers with bounding volume hierarchy
+        geometries.buildBVH();
+        assertFalse("intersection before the geometries", geometries.hasIntersection(ray, 1));
+        assertEquals("transparency through the sphere", 0.25, geometries.findTransparency(ray, 5, 1, 0.001), 0.00001);
+        assertEquals("transparency through the wall", 0, geometries.findTransparency(ray, 10, 1, 0.001), 0.00001);
+    }
+
+    /**
+     * Test Method for Geometries closest intersection
+     * {@link Geometries#findClosestIntersection(Ray, double)}
+     */
+    @Test
+    public void testFindClosestIntersection() {
+        Sphere sphere = new Sphere(1d, new Point3D(3, 0, 0));
+        Triangle triangle = new Triangle(new Point3D(6, -2, -2), new Point3D(6, 2, -2), new Point3D(6, 0, 2));
+        Plane plane = new Plane(new Point3D(8, 0, 0), new Vector(1, 0, 0));
+        Geometries geometries = new Geometries(plane, triangle, sphere);
+        Ray ray = new Ray(new Point3D(0, 0, 0), new Vector(1, 0, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        //TC01: The closest of all the geometries is the sphere
+        Intersectable.GeoPoint closest = geometries.findClosestIntersection(ray);
+        assertEquals("closest intersection", new Intersectable.GeoPoint(sphere, new Point3D(2, 0, 0)), closest);
+        assertEquals("closest intersection distance", 2, closest.distance, 0.00001);
+
+        //TC02: No geometry is intersected
+        assertNull("no intersection", geometries.findClosestIntersection(new Ray(new Point3D(0, 0, 0), new Vector(-1, 0, 0))));
+
+        //TC03: The sphere is closer but beyond max distance
+        assertNull("intersection beyond max distance", geometries.findClosestIntersection(ray, 1.5));
+
+        // =============== Boundary Values Tests ==================
+        //TC04: Same answers with bounding volume hierarchy
+        geometries.buildBVH();
+        assertEquals("closest intersection", new Intersectable.GeoPoint(sphere, new Point3D(2, 0, 0)),
+                geometries.findClosestIntersection(ray));
+        assertEquals("closest intersection behind the sphere", new Intersectable.GeoPoint(triangle, new Point3D(6, 0, 0)),
+                geometries.findClosestIntersection(new Ray(new Point3D(4.5, 0, 0), new Vector(1, 0, 0))));
+        assertNull("intersection beyond max distance", geometries.findClosestIntersection(ray, 1.5));
+    }
+
+    /**
+     * Test Method for Geometries compile
+     * {@link Geometries#compile(boolean)}
+     */
+    @Test
+    public void testCompile() {
+        Sphere sphere = new Sphere(new Color(10, 20, 30), new Material(0.5, 0.5, 30), 1, new Point3D(3, 0, 0));
+        Triangle triangle = new Triangle(new Color(10, 20, 30), new Material(0.5, 0.5, 30),
+                new Point3D(6, -2, -2), new Point3D(6, 2, -2), new Point3D(6, 0, 2));
+        Plane plane = new Plane(new Point3D(8, 0, 0), new Vector(1, 0, 0));
+        Geometries geometries = new Geometries(sphere, new Geometries(triangle, new Geometries(plane)));
+        Ray ray = new Ray(new Point3D(0, 0, 0), new Vector(1, 0, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        //TC01: The nested geometries are flattened - the same intersections
+        Geometries compiled = geometries.compile(false);
+        assertEquals("intersections of compiled geometries", 4, compiled.findIntersections(ray).size());
+        assertEquals("closest intersection of compiled geometries", new Intersectable.GeoPoint(sphere, new Point3D(2, 0, 0)),
+                compiled.findClosestIntersection(ray));
+
+        //TC02: Equal materials and emissions are shared by the compiled geometries only
+        Geometry compiledTriangle = compiled.findClosestIntersection(new Ray(new Point3D(5, 0, 0), new Vector(1, 0, 0))).geometry;
+        assertNotSame("given geometry is in the compiled geometries", triangle, compiledTriangle);
+        assertSame("material is not shared", sphere.getMaterial(), compiledTriangle.getMaterial());
+        assertSame("emission is not shared", sphere.getEmission(), compiledTriangle.getEmission());
+        assertEquals("shared material changed", new Material(0.5, 0.5, 30), compiledTriangle.getMaterial());
+        assertEquals("shared emission changed", new Color(10, 20, 30), compiledTriangle.getEmission());
+        assertNotSame("given geometry was changed", sphere.getMaterial(), triangle.getMaterial());
+        assertNotSame("given geometry was changed", sphere.getEmission(), triangle.getEmission());
+
+        //TC03: Same answers with bounding volume hierarchy
+        compiled = geometries.compile(true);
+        assertEquals("intersections of compiled geometries", 4, compiled.findIntersections(ray).size());
+        assertEquals("transparency through compiled geometries", 0, compiled.findTransparency(ray, 10, 1, 0.001), 0);
+
+        // =============== Boundary Values Tests ==================
+        //TC04: The compiled geometries can not be changed
+        try {
+            compiled.add(new Sphere(1d, new Point3D(0, 5, 0)));
+            fail("compiled geometries were changed");
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+}
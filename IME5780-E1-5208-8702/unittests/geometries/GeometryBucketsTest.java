@@ -0,0 +1,81 @@
+package geometries;
+
+import geometries.Intersectable.GeoPoint;
+import org.junit.Test;
+import primitives.Color;
+import primitives.Material;
+import primitives.Point3D;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for GeometryBuckets
+ *
+ * @author AhronS and IsraelN
+ */
+public class GeometryBucketsTest {
+
+    /**
+     * Test Method for GeometryBuckets - the same answers as Geometries
+     * {@link GeometryBuckets#findIntersections(Ray, double)}
+     * {@link GeometryBuckets#findClosestIntersection(Ray, double)}
+     * {@link GeometryBuckets#findTransparency(Ray, double, double, double)}
+     */
+    @Test
+    public void testSameAsGeometries() {
+        Intersectable[] mixed = {
+                new Sphere(Color.BLACK, new Material(0, 0, 0, 0.5, 0), 1, new Point3D(0, 0, 5)),
+                new Plane(new Point3D(0, 0, 12), new Vector(0.1, 0.2, 1)),
+                new Triangle(new Point3D(-2, -2, 7), new Point3D(2, -2, 7), new Point3D(0, 2, 7)),
+                new Polygon(new Point3D(1, 1, 3), new Point3D(3, 1, 3), new Point3D(3, 3, 3), new Point3D(1, 3, 3)),
+                new Cylinder(0.5, new Ray(new Point3D(1, -1, 4), new Vector(0, 1, 0)), 2d),
+                new Geometries(new Sphere(0.5, new Point3D(-1, 1, 9)))};
+        Geometries geometries = new Geometries(mixed);
+        GeometryBuckets buckets = new GeometryBuckets(mixed);
+        Random random = new Random(8702);
+        int hits = 0;
+
+        // ============ Equivalence Partitions Tests ==============
+        //TC01: Random rays through the geometries (hits and misses)
+        assertEquals("bad amount of geometries", mixed.length, buckets.size());
+        for (int i = 0; i < 200; ++i) {
+            Ray ray = new Ray(Point3D.ZERO,
+                    new Vector(random.nextDouble() * 6 - 3, random.nextDouble() * 6 - 3, 5));
+            double maxDistance = random.nextDouble() * 20;
+            List<GeoPoint> expected = geometries.findIntersections(ray, maxDistance);
+            List<GeoPoint> intersections = buckets.findIntersections(ray, maxDistance);
+            assertEquals("bad intersections", expected == null ? 0 : expected.size(),
+                    intersections == null ? 0 : intersections.size());
+            if (expected != null) {
+                ++hits;
+                assertTrue("bad intersections", intersections.containsAll(expected));
+            }
+
+            GeoPoint closest = geometries.findClosestIntersection(ray, maxDistance);
+            GeoPoint bucketsClosest = buckets.findClosestIntersection(ray, maxDistance);
+            assertEquals("bad closest intersection", closest, bucketsClosest);
+            assertEquals("bad intersection check", geometries.hasIntersection(ray, maxDistance),
+                    buckets.hasIntersection(ray, maxDistance));
+            assertEquals("bad transparency", geometries.findTransparency(ray, maxDistance, 1, 0.001),
+                    buckets.findTransparency(ray, maxDistance, 1, 0.001), 1e-12);
+            Geometry[] occluder = new Geometry[1], bucketsOccluder = new Geometry[1];
+            geometries.findTransparency(ray, maxDistance, 1, 0.001, occluder);
+            buckets.findTransparency(ray, maxDistance, 1, 0.001, bucketsOccluder);
+            assertEquals("bad occluder check", occluder[0] != null, bucketsOccluder[0] != null);
+        }
+        assertTrue("the rays missed the geometries", hits > 50);
+
+        // =============== Boundary Values Tests ==================
+        //TC02: No geometries
+        buckets = new GeometryBuckets();
+        Ray ray = new Ray(Point3D.ZERO, new Vector(0, 0, 1));
+        assertNull("intersections without geometries", buckets.findIntersections(ray));
+        assertNull("closest intersection without geometries", buckets.findClosestIntersection(ray));
+        assertEquals("transparency without geometries", 1, buckets.findTransparency(ray, 10, 1, 0.001), 0);
+    }
+}
@@ -123,4 +123,35 @@ public class SphereTest {
         // center line
         assertNull("Ray orthogonal to ray head -> O line", sphere.findIntersections(new Ray(new Point3D(-1, 0, 0), new Vector(0, 0, 1))));
     }
+
+    /**
+     * Test method for Sphere nearest intersection kernel
+     * {@link geometries.Sphere#findClosestIntersection(Ray, double)}.
+     */
+    @Test
+    public void testFindClosestIntersection() {
+        Sphere sphere = new Sphere(1d, new Point3D(1, 0, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray crosses the sphere - the nearer point
+        Intersectable.GeoPoint closest = sphere.findClosestIntersection(new Ray(new Point3D(-1, 0, 0), new Vector(1, 0, 0)));
+        assertEquals("Ray crosses sphere", new Intersectable.GeoPoint(sphere, Point3D.ZERO), closest);
+        assertEquals("Ray crosses sphere distance", 1, closest.distance, 0.00001);
+
+        // TC02: Ray starts inside the sphere - the point ahead
+        assertEquals("Ray from inside sphere", new Intersectable.GeoPoint(sphere, new Point3D(2, 0, 0)),
+                sphere.findClosestIntersection(new Ray(new Point3D(0.5, 0, 0), new Vector(1, 0, 0))));
+
+        // TC03: Ray misses the sphere
+        assertNull("Ray's line out of sphere", sphere.findClosestIntersection(new Ray(new Point3D(-1, 2, 0), new Vector(1, 0, 0))));
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The intersection is beyond max distance
+        assertNull("Intersection beyond max distance",
+                sphere.findClosestIntersection(new Ray(new Point3D(-1, 0, 0), new Vector(1, 0, 0)), 0.5));
+
+        // TC12: Ray starts at the center
+        assertEquals("Ray from the center", new Intersectable.GeoPoint(sphere, new Point3D(1, 1, 0)),
+                sphere.findClosestIntersection(new Ray(new Point3D(1, 0, 0), new Vector(0, 1, 0))));
+    }
 }
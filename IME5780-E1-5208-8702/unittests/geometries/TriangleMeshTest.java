@@ -0,0 +1,171 @@
+package geometries;
+
+import org.junit.Test;
+import primitives.Color;
+import primitives.Material;
+import primitives.Point3D;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testing TriangleMesh
+ *
+ * @author AhronS and IsraelN
+ */
+public class TriangleMeshTest {
+    // unit square on the plane z=0 (two faces) and a triangle on the plane z=1
+    private final TriangleMesh mesh = new TriangleMesh(
+            new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, 1, 1, 0, 1, 0, 1, 1},
+            new int[]{0, 1, 2, 0, 2, 3, 4, 5, 6});
+
+    /**
+     * Test method for
+     * {@link geometries.TriangleMesh#TriangleMesh(double[], int[])}.
+     */
+    @Test
+    public void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Correct mesh
+        assertEquals("Bad amount of faces", 3, mesh.getFaceCount());
+
+        // TC02: Face with a missing vertex
+        try {
+            new TriangleMesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[]{0, 1, 3});
+            fail("Constructed a mesh with a missing vertex");
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Vertices values not multiple of 3
+        try {
+            new TriangleMesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1}, new int[]{0, 1, 2});
+            fail("Constructed a mesh with a broken vertex");
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+
+        // TC12: Mesh without faces
+        try {
+            new TriangleMesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[0]);
+            fail("Constructed an empty mesh");
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link geometries.TriangleMesh.Face#getNormal(Point3D)}.
+     */
+    @Test
+    public void testGetNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: normal of a face
+        assertEquals("Bad normal to face", new Vector(0, 0, 1), mesh.getFace(1).getNormal(new Point3D(0.2, 0.5, 0)));
+        // TC02: the views of a face are equal, the views of other faces are not
+        assertEquals("Bad views of a face", mesh.getFace(1), mesh.getFace(1));
+        assertNotEquals("Bad views of faces", mesh.getFace(1), mesh.getFace(0));
+    }
+
+    /**
+     * Test method for
+     * {@link geometries.TriangleMesh#findIntersections(Ray, double)}.
+     */
+    @Test
+    public void testFindIntersections() {
+        Vector v00_1 = new Vector(0, 0, -1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray crosses one face of each layer (2 points)
+        assertEquals("Bad intersections of mesh",
+                List.of(new Intersectable.GeoPoint(mesh.getFace(2), new Point3D(0.2, 0.3, 1)),
+                        new Intersectable.GeoPoint(mesh.getFace(1), new Point3D(0.2, 0.3, 0))),
+                sortByZ(mesh.findIntersections(new Ray(new Point3D(0.2, 0.3, 2), v00_1))));
+
+        // TC02: Ray crosses only the square (1 point)
+        assertEquals("Bad intersections of mesh",
+                List.of(new Intersectable.GeoPoint(mesh.getFace(0), new Point3D(0.8, 0.3, 0))),
+                mesh.findIntersections(new Ray(new Point3D(0.8, 0.3, 2), v00_1)));
+
+        // TC03: Ray misses the mesh (0 points)
+        assertNull("Bad intersections of mesh", mesh.findIntersections(new Ray(new Point3D(2, 2, 2), v00_1)));
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Ray on the edge between the square faces (0 points)
+        assertNull("Bad intersections of mesh", mesh.findIntersections(new Ray(new Point3D(0.7, 0.7, 2), v00_1)));
+
+        // TC12: Ray crosses the square beyond max distance (1 point)
+        assertEquals("Bad intersections of mesh",
+                List.of(new Intersectable.GeoPoint(mesh.getFace(2), new Point3D(0.2, 0.3, 1))),
+                mesh.findIntersections(new Ray(new Point3D(0.2, 0.3, 2), v00_1), 1.5));
+    }
+
+    /**
+     * Test method for
+     * {@link geometries.TriangleMesh#findClosestIntersection(Ray, double)}.
+     */
+    @Test
+    public void testFindClosestIntersection() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray from above - the upper triangle
+        Intersectable.GeoPoint closest = mesh.findClosestIntersection(new Ray(new Point3D(0.2, 0.3, 2), new Vector(0, 0, -1)));
+        assertEquals("Bad closest intersection of mesh", new Intersectable.GeoPoint(mesh.getFace(2), new Point3D(0.2, 0.3, 1)), closest);
+        assertEquals("Bad closest distance of mesh", 1, closest.distance, 0.00001);
+
+        // TC02: Ray from below - the square
+        assertEquals("Bad closest intersection of mesh", new Intersectable.GeoPoint(mesh.getFace(1), new Point3D(0.2, 0.3, 0)),
+                mesh.findClosestIntersection(new Ray(new Point3D(0.2, 0.3, -1), new Vector(0, 0, 1))));
+
+        // TC03: Ray misses the mesh
+        assertNull("Bad closest intersection of mesh",
+                mesh.findClosestIntersection(new Ray(new Point3D(0.2, 0.3, 2), new Vector(0, 0, 1))));
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Ray's head between the layers - hasIntersection only within max distance
+        Ray ray = new Ray(new Point3D(0.2, 0.3, 0.5), new Vector(0, 0, 1));
+        assertTrue("Bad any hit of mesh", mesh.hasIntersection(ray, 1));
+        assertFalse("Bad any hit of mesh", mesh.hasIntersection(ray, 0.4));
+    }
+
+    /**
+     * Test method for
+     * {@link geometries.TriangleMesh#findTransparency(Ray, double, double, double, Geometry[])}.
+     */
+    @Test
+    public void testFindTransparency() {
+        Geometry[] occluder = new Geometry[1];
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray blocked by the mesh - the occluder is the face itself
+        assertEquals("Bad transparency of mesh", 0,
+                mesh.findTransparency(new Ray(new Point3D(0.8, 0.3, 2), new Vector(0, 0, -1)), 10, 1, 0.001, occluder), 0);
+        assertEquals("Bad occluder of mesh", mesh.getFace(0), occluder[0]);
+
+        // TC02: Ray misses the mesh
+        occluder[0] = null;
+        assertEquals("Bad transparency of mesh", 1,
+                mesh.findTransparency(new Ray(new Point3D(2, 2, 2), new Vector(0, 0, -1)), 10, 1, 0.001, occluder), 0);
+        assertNull("Bad occluder of mesh", occluder[0]);
+
+        // TC03: Transparent mesh does not occlude, even below min k
+        TriangleMesh transparent = new TriangleMesh(Color.BLACK, new Material(0, 0, 0, 0.5, 0),
+                new double[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[]{0, 1, 2});
+        Ray ray = new Ray(new Point3D(0.2, 0.2, 1), new Vector(0, 0, -1));
+        assertEquals("Bad transparency of mesh", 0.5, transparent.findTransparency(ray, 10, 1, 0.001, occluder), 0);
+        assertEquals("Bad transparency of mesh", 0, transparent.findTransparency(ray, 10, 1, 0.6, occluder), 0);
+        assertNull("Bad occluder of transparent mesh", occluder[0]);
+    }
+
+    /**
+     * sort the intersections from the highest
+     */
+    private static List<Intersectable.GeoPoint> sortByZ(List<Intersectable.GeoPoint> intersections) {
+        intersections.sort((a, b) -> Double.compare(b.point.getZValue(), a.point.getZValue()));
+        return intersections;
+    }
+}
@@ -65,4 +65,33 @@ public class TriangleTest {
         // TC06: Ray's on edge's continuation (0 points)
         assertNull("bad findIntersections of triangle", triangle.findIntersections(new Ray(new Point3D(2, 0, 1), v00_1)));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test Method for Triangle intersection kernel
+     * {@link Triangle#intersectionDistance(Ray, double, double[])}
+     */
+    @Test
+    public void testIntersectionDistance() {
+        Triangle triangle = new Triangle(new Point3D(0, 0, 0), new Point3D(1, 0, 0), new Point3D(0, 1, 0));
+        Ray ray = new Ray(new Point3D(0.2, 0.3, 2), new Vector(0, 0, -1));
+        double[] uv = new double[2];
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray's inside the triangle - distance and barycentric coordinates
+        assertEquals("bad distance to triangle", 2, triangle.intersectionDistance(ray, Double.POSITIVE_INFINITY, uv), 0.00001);
+        assertEquals("bad barycentric u", 0.2, uv[0], 0.00001);
+        assertEquals("bad barycentric v", 0.3, uv[1], 0.00001);
+
+        // TC02: Ray's opposite to the triangle
+        assertEquals("bad distance to triangle", Double.POSITIVE_INFINITY,
+                triangle.intersectionDistance(new Ray(new Point3D(0.2, 0.3, 2), new Vector(0, 0, 1)), Double.POSITIVE_INFINITY, null), 0);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The intersection is beyond max distance
+        assertEquals("bad distance to triangle", Double.POSITIVE_INFINITY, triangle.intersectionDistance(ray, 1, null), 0);
+
+        // TC12: Ray's parallel to the triangle
+        assertEquals("bad distance to triangle", Double.POSITIVE_INFINITY,
+                triangle.intersectionDistance(new Ray(new Point3D(-1, 0.3, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY, null), 0);
+    }
+}
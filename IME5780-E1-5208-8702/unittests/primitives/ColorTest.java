@@ -0,0 +1,39 @@
+package primitives;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for primitives.Color class
+ *
+ * @author AhronS and IsraelN
+ */
+public class ColorTest {
+
+    /**
+     * Test method for
+     * {@link primitives.Color#equals(Object)} and {@link primitives.Color#hashCode()}.
+     */
+    @Test
+    public void testEquals() {
+        Color color = new Color(10, 20, 30);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: equal values - equal colors with equal hash codes
+        Color same = new Color(new java.awt.Color(10, 20, 30));
+        assertEquals("Bad equal colors", color, same);
+        assertEquals("Bad hash code of equal colors", color.hashCode(), same.hashCode());
+
+        // TC02: different values
+        assertNotEquals("Bad different colors", color, new Color(10, 20, 31));
+        assertNotEquals("Bad different colors", color, new Color(30, 20, 10));
+
+        // =============== Boundary Values Tests ==================
+        // TC11: black by constructor and the constant
+        assertEquals("Bad black color", Color.BLACK, new Color(0, 0, 0));
+
+        // TC12: not a color
+        assertNotEquals("Color equals another type", color, new Material(0.5, 0.5, 30));
+    }
+}
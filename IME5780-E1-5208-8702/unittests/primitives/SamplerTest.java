@@ -0,0 +1,110 @@
+package primitives;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the samplers
+ *
+ * @author AhronS and IsraelN
+ */
+public class SamplerTest {
+
+    /**
+     * Test method for
+     * {@link primitives.HaltonSampler#get2D(int, long, double[])}.
+     */
+    @Test
+    public void testHalton() {
+        Sampler sampler = new HaltonSampler();
+        double[] point = new double[2];
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the sequence itself
+        sampler.get2D(5, 0, point);
+        assertArrayEquals("Bad Halton point", new double[]{0.625, 7d / 9}, point, 1e-12);
+
+        // TC02: scrambled sequence - a shift of the sequence (modulo 1)
+        double[] first = new double[2];
+        long scramble = Sampler.scramble(7, 3, 4);
+        sampler.get2D(1, scramble, first);
+        sampler.get2D(2, scramble, point);
+        assertEquals("Bad Halton shift", 0.75, (point[0] - first[0] + 1) % 1, 1e-12);
+        checkUnitSquare(sampler, scramble);
+    }
+
+    /**
+     * Test method for
+     * {@link primitives.SobolSampler#get2D(int, long, double[])}.
+     */
+    @Test
+    public void testSobol() {
+        Sampler sampler = new SobolSampler();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the sequence itself
+        double[][] expected = {{0, 0}, {0.5, 0.5}, {0.25, 0.75}, {0.75, 0.25}};
+        double[] point = new double[2];
+        for (int k = 0; k < expected.length; ++k) {
+            sampler.get2D(k, 0, point);
+            assertArrayEquals("Bad Sobol point", expected[k], point, 1e-12);
+        }
+
+        // TC02: scrambled sequence - 16 points, one in every cell of a 4x4 grid
+        long scramble = Sampler.scramble(7, 3, 4);
+        checkUnitSquare(sampler, scramble);
+        boolean[] cells = new boolean[16];
+        for (int k = 0; k < 16; ++k) {
+            sampler.get2D(k, scramble, point);
+            cells[(int) (point[0] * 4) * 4 + (int) (point[1] * 4)] = true;
+        }
+        for (boolean cell : cells)
+            assertTrue("Sobol points are not stratified", cell);
+    }
+
+    /**
+     * Test method for
+     * {@link primitives.StratifiedSampler#get2D(int, long, double[])}.
+     */
+    @Test
+    public void testStratified() {
+        Sampler sampler = new StratifiedSampler(9);
+        double[] point = new double[2];
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the sequence itself - the cells centers
+        sampler.get2D(5, 0, point);
+        assertArrayEquals("Bad stratified point", new double[]{2.5 / 3, 1.5 / 3}, point, 1e-12);
+
+        // TC02: scrambled sequence - a point in the cell, the same for the same scramble
+        long scramble = Sampler.scramble(7, 3, 4);
+        sampler.get2D(5, scramble, point);
+        assertTrue("Stratified point out of its cell",
+                point[0] >= 2d / 3 && point[0] < 1 && point[1] >= 1d / 3 && point[1] < 2d / 3);
+        double[] again = new double[2];
+        sampler.get2D(5, scramble, again);
+        assertArrayEquals("Stratified point is not deterministic", point, again, 0);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: no samples
+        try {
+            new StratifiedSampler(0);
+            fail("Constructed a sampler without samples");
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+    }
+
+    /**
+     * check that the points of a scrambled sequence are in the unit square
+     */
+    private static void checkUnitSquare(Sampler sampler, long scramble) {
+        double[] point = new double[2];
+        for (int k = 0; k < 1000; ++k) {
+            sampler.get2D(k, scramble, point);
+            assertTrue("Point out of the unit square",
+                    point[0] >= 0 && point[0] < 1 && point[1] >= 0 && point[1] < 1);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package renderer;
 
 import geometries.Cylinder;
+import geometries.Polygon;
 import org.junit.Test;
 
 import elements.*;
@@ -10,6 +11,8 @@ import primitives.*;
 import renderer.*;
 import scene.Scene;
 
+import static org.junit.Assert.*;
+
 /**
  * Tests for reflection and transparency functionality, test for partial shadows
  * (with transparency)
@@ -74,6 +77,154 @@ public class ReflectionRefractionTests {
 		render.writeToImage();
 	}
 
+	/**
+	 * Produce the picture of twoSpheresOnMirrors by tiles on several threads - the
+	 * same pixels as on one thread
+	 */
+	@Test
+	public void twoSpheresOnMirrorsMultithreaded() {
+		Scene scene = twoSpheresOnMirrorsScene();
+		ImageWriter serial = new ImageWriter("twoSpheresMirroredSerial", 2500, 2500, 500, 500);
+		new Render(serial, scene).renderImage();
+
+		ImageWriter imageWriter = new ImageWriter("twoSpheresMirroredMultithreaded", 2500, 2500, 500, 500);
+		Render render = new Render(imageWriter, scene);
+		render.setThreads(4);
+		render.setTileSize(16);
+
+		render.renderImage();
+		render.writeToImage();
+		assertArrayEquals("Threads changed the pixels", serial.getPixels(), imageWriter.getPixels());
+	}
+
+	/**
+	 * Produce the picture of twoSpheresOnMirrors with adaptive anti aliasing
+	 */
+	@Test
+	public void twoSpheresOnMirrorsAntiAliasing() {
+		Scene scene = twoSpheresOnMirrorsScene();
+
+		ImageWriter imageWriter = new ImageWriter("twoSpheresMirroredAntiAliasing", 2500, 2500, 500, 500);
+		Render render = new Render(imageWriter, scene);
+		render.setThreads(4);
+		render.setAdaptiveAntiAliasing(3, 16);
+
+		RenderStatistics statistics = render.renderImage();
+		render.writeToImage();
+		assertTrue("Anti aliasing missed pixels corners", statistics.getPrimaryRays() >= 501 * 501);
+		assertTrue("Anti aliasing subdivided too much", statistics.getPrimaryRays() < 2 * 500 * 500);
+	}
+
+	/**
+	 * Test adaptive anti aliasing with the russian roulette on twoSpheresOnMirrors
+	 * (reduced resolution) - the same pixels on one thread and by tiles on several
+	 * threads, although the tiles edges are traced by both tiles
+	 */
+	@Test
+	public void twoSpheresOnMirrorsAntiAliasingRoulette() {
+		Scene scene = twoSpheresOnMirrorsScene();
+		ImageWriter serial = new ImageWriter("twoSpheresMirroredAntiAliasingRoulette", 2500, 2500, 100, 100);
+		Render render = new Render(serial, scene);
+		render.setAdaptiveAntiAliasing(2, 16);
+		render.setRussianRoulette(0.6, 5208);
+		render.renderImage();
+
+		ImageWriter imageWriter = new ImageWriter("twoSpheresMirroredAntiAliasingRoulette", 2500, 2500, 100, 100);
+		render = new Render(imageWriter, scene);
+		render.setAdaptiveAntiAliasing(2, 16);
+		render.setRussianRoulette(0.6, 5208);
+		render.setThreads(3);
+		render.setTileSize(16);
+		render.renderImage();
+		assertArrayEquals("Anti aliasing depends on the threads", serial.getPixels(), imageWriter.getPixels());
+	}
+
+	/**
+	 * Test the statistics of rendering twoSpheresOnMirrors (reduced resolution)
+	 */
+	@Test
+	public void twoSpheresOnMirrorsStatistics() {
+		Scene scene = twoSpheresOnMirrorsScene();
+
+		ImageWriter imageWriter = new ImageWriter("twoSpheresMirroredStatistics", 2500, 2500, 100, 100);
+		Render render = new Render(imageWriter, scene);
+		render.setThreads(2);
+
+		RenderStatistics statistics = render.renderImage();
+		assertEquals("Bad amount of primary rays", 100 * 100, statistics.getPrimaryRays());
+		assertTrue("No reflected rays", statistics.getReflectedRays() > 0);
+		assertTrue("No refracted rays", statistics.getRefractedRays() > 0);
+		assertTrue("No shadow rays", statistics.getShadowRays() > 0);
+		assertEquals("Bad total rays", statistics.getPrimaryRays() + statistics.getReflectedRays()
+				+ statistics.getRefractedRays() + statistics.getShadowRays(), statistics.getTotalRays());
+		assertTrue("Bad intersection hits", statistics.getIntersectionHits() > 0
+				&& statistics.getIntersectionHits() <= statistics.getIntersectionTests());
+		assertTrue("Bad recursion depth", statistics.getMaxDepth() >= 2
+				&& statistics.getMaxDepth() < 10);
+		assertTrue("No wall time", statistics.getWallTime() > 0 && statistics.getMraysPerSecond() > 0);
+	}
+
+	/**
+	 * Test a hall of mirrors - a sphere between two parallel full mirrors, with a
+	 * rays tree much deeper than the default levels limit
+	 */
+	@Test
+	public void hallOfMirrors() {
+		Scene scene = new Scene("Test scene");
+		scene.setCamera(new Camera(new Point3D(0, 0, -150), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+		scene.setDistance(100);
+		scene.setBackground(Color.BLACK);
+		scene.setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+
+		scene.addGeometries(
+				new Sphere(new Color(100, 20, 20), new Material(0.5, 0.5, 30), 30, new Point3D(0, 0, 100)),
+				new Polygon(new Material(0, 0, 0, 0, 1), new Color(10, 10, 10), new Point3D(-1e5, -1e5, 200),
+						new Point3D(1e5, -1e5, 200), new Point3D(1e5, 1e5, 200), new Point3D(-1e5, 1e5, 200)),
+				new Polygon(new Material(0, 0, 0, 0, 1), new Color(10, 10, 10), new Point3D(-1e5, -1e5, -200),
+						new Point3D(-1e5, 1e5, -200), new Point3D(1e5, 1e5, -200), new Point3D(1e5, -1e5, -200)));
+
+		scene.addLights(new PointLight(new Color(500, 300, 300), new Point3D(50, 50, 0), 1, 0.00001, 0.000005));
+
+		ImageWriter imageWriter = new ImageWriter("hallOfMirrors", 150, 150, 50, 50);
+		Render render = new Render(imageWriter, scene);
+		render.setMaxCalcColorLevel(500);
+
+		RenderStatistics statistics = render.renderImage();
+		assertEquals("Bad recursion depth", 499, statistics.getMaxDepth());
+	}
+
+	/**
+	 * Test the russian roulette on twoSpheresOnMirrors (reduced resolution) - less
+	 * secondary rays, the same result for the same seed on any amount of threads
+	 */
+	@Test
+	public void twoSpheresOnMirrorsRussianRoulette() {
+		Scene scene = twoSpheresOnMirrorsScene();
+
+		Render render = new Render(new ImageWriter("twoSpheresMirroredRoulette", 2500, 2500, 100, 100), scene);
+		RenderStatistics full = render.renderImage();
+		long fullRays = full.getTotalRays();
+		assertEquals("Roulette terminations without russian roulette", 0, full.getRouletteTerminations());
+
+		render.setRussianRoulette(0.6, 5208);
+		RenderStatistics serial = render.renderImage();
+		assertTrue("Russian roulette did not cut rays", serial.getTotalRays() < fullRays);
+		assertTrue("No roulette terminations", serial.getRouletteTerminations() > 0);
+		assertTrue("Russian roulette cut all the branches", serial.getReflectedRays() + serial.getRefractedRays() > 0);
+
+		render.setThreads(3);
+		RenderStatistics parallel = render.renderImage();
+		assertEquals("Russian roulette depends on the threads", serial.getTotalRays(), parallel.getTotalRays());
+
+		// ============ Error Tests ==============
+		try {
+			render.setRussianRoulette(1.5, 5208);
+			fail("Russian roulette threshold above 1 was accepted");
+		} catch (IllegalArgumentException e) {
+			assertTrue(true);
+		}
+	}
+
 	/**
 	 * Produce a picture of a two triangles lighted by a spot light with a partially transparent Sphere
 	 * producing partial shadow
@@ -141,5 +292,69 @@ public class ReflectionRefractionTests {
 		render.renderImage();
 		render.writeToImage();
 	}
-}
 
+	/**
+	 * Produce the picture of OurImage with adaptive depth of field sampling
+	 */
+	@Test
+	public void OurImageAdaptiveDOF() {
+		Scene scene = new Scene("Test scene");
+		scene.setCamera(new Camera(new Point3D(0, 0, -1000), new Vector(0, 0, 1), new Vector(0, -1, 0),81,1050,50));
+		scene.setDistance(1000);
+		scene.setBackground(Color.BLACK);
+		scene.setAmbientLight(new AmbientLight(new Color(java.awt.Color.WHITE), 0.15));
+
+		scene.addGeometries( //
+				new Triangle(Color.BLACK, new Material(0.5, 0.5, 60), //
+						new Point3D(-150, 150, 115), new Point3D(150, 150, 135), new Point3D(75, -75, 150)), //
+				new Triangle(Color.BLACK, new Material(0.5, 0.5, 60), //
+						new Point3D(-150, 150, 115), new Point3D(-70, -70, 140), new Point3D(75, -75, 150)), //
+				new Sphere(new Color(java.awt.Color.blue), new Material(0.2, 0.2, 30, 0.6, 0), // )
+						30, new Point3D(60, -50, 0)),
+				new Sphere(new Color(java.awt.Color.black), new Material(0.2, 0.2, 60, 0.5, 0.2), // )
+						28, new Point3D(-20, 30, -10)),
+				new Sphere(new Color(java.awt.Color.green), new Material(0.2, 0.2, 20, 0.1, 0.2), // )
+						10, new Point3D(-50, 80, 100)),
+				new Sphere(new Color(java.awt.Color.red), new Material(0.2, 0.2, 90, 0, 0.6), // )
+						33, new Point3D(-50, -50, 50)));
+
+		scene.addLights(
+				new SpotLight(new Color(700, 400, 400), //
+						new Point3D(50, -50, 0), new Vector(0, 0, 1), 1, 4E-5, 2E-7),
+				new SpotLight(new Color(100, 250, 100),
+						new Point3D(-20, 20, 100), new Vector(-1, 1, 4), 1, 0.00001, 0.000005));
+
+		ImageWriter imageWriter = new ImageWriter("OurImageAdaptiveDOF", 200, 200, 600, 600);
+		Render render = new Render(imageWriter, scene);
+		render.setThreads(4);
+		render.setAdaptiveDOF(4, 25);
+
+		RenderStatistics statistics = render.renderImage();
+		render.writeToImage();
+		assertTrue("Adaptive DOF used less than the minimal rays", statistics.getPrimaryRays() >= 4 * 600 * 600);
+		assertTrue("Adaptive DOF did not save rays", statistics.getPrimaryRays() < 81 * 600 * 600 / 4);
+	}
+
+	/**
+	 * the scene of twoSpheresOnMirrors
+	 */
+	private static Scene twoSpheresOnMirrorsScene() {
+		Scene scene = new Scene("Test scene");
+		scene.setCamera(new Camera(new Point3D(0, 0, -10000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+		scene.setDistance(10000);
+		scene.setBackground(Color.BLACK);
+		scene.setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+
+		scene.addGeometries(
+				new Sphere(new Color(0, 0, 100), new Material(0.25, 0.25, 20, 0.5, 0), 400, new Point3D(-950, 900, 1000)),
+				new Sphere(new Color(100, 20, 20), new Material(0.25, 0.25, 20), 200, new Point3D(-950, 900, 1000)),
+				new Triangle(new Color(20, 20, 20), new Material(0, 0, 0, 0, 1), new Point3D(1500, 1500, 1500),
+						new Point3D(-1500, -1500, 1500), new Point3D(670, -670, -3000)),
+				new Triangle(new Color(20, 20, 20), new Material(0, 0, 0, 0, 0.5), new Point3D(1500, 1500, 1500),
+						new Point3D(-1500, -1500, 1500), new Point3D(-1500, 1500, 2000)));
+
+		scene.addLights(new SpotLight(new Color(1020, 400, 400), new Point3D(-750, 750, 150),
+				new Vector(-1, 1, 4), 1, 0.00001, 0.000005));
+		return scene;
+	}
+}
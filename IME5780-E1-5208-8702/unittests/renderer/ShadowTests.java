@@ -2,6 +2,8 @@ package renderer;
 
 import org.junit.Test;
 
+import static org.junit.Assert.*;
+
 import elements.*;
 import geometries.*;
 import primitives.*;
@@ -173,4 +175,82 @@ public class ShadowTests {
 		render.renderImage();
 		render.writeToImage();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Two triangles and a Sphere lighted by a rectangle area light - soft shadow,
+	 * the lighted and the shaded points cost only the first shadow rays
+	 */
+	@Test
+	public void trianglesSphereRectangleLight() {
+		Scene scene = trianglesSphereScene();
+		scene.addLights(new RectangleLight(new Color(700, 400, 400), //
+				new Point3D(40, -40, -115), new Vector(30, 30, 0), new Vector(-30, 30, 15), 1, 4E-4, 2E-5));
+
+		ImageWriter imageWriter = new ImageWriter("trianglesSphereRectangleLight", 200, 200, 600, 600);
+		Render render = new Render(imageWriter, scene);
+
+		RenderStatistics statistics = render.renderImage();
+		render.writeToImage();
+		assertTrue("Too many shadow rays", statistics.getShadowRays() < 8 * statistics.getPrimaryRays());
+	}
+
+	/**
+	 * Two triangles and a Sphere lighted by a disk area light - soft shadow
+	 */
+	@Test
+	public void trianglesSphereDiskLight() {
+		Scene scene = trianglesSphereScene();
+		scene.addLights(new DiskLight(new Color(700, 400, 400), //
+				new Point3D(40, -40, -115), new Vector(-1, 1, 4), 25, 1, 4E-4, 2E-5));
+
+		ImageWriter imageWriter = new ImageWriter("trianglesSphereDiskLight", 200, 200, 600, 600);
+		Render render = new Render(imageWriter, scene);
+
+		RenderStatistics statistics = render.renderImage();
+		render.writeToImage();
+		assertTrue("Too many shadow rays", statistics.getShadowRays() < 8 * statistics.getPrimaryRays());
+	}
+
+	/**
+	 * Two triangles and a Sphere lighted by a rectangle area light with the last
+	 * occluder cache - the cached sphere blocks the shadow rays of its shadow
+	 * before the scene traversal, the rays results do not change
+	 */
+	@Test
+	public void trianglesSphereOccluderCache() {
+		Scene scene = trianglesSphereScene();
+		scene.addLights(new RectangleLight(new Color(700, 400, 400), //
+				new Point3D(40, -40, -115), new Vector(30, 30, 0), new Vector(-30, 30, 15), 1, 4E-4, 2E-5));
+
+		ImageWriter imageWriter = new ImageWriter("trianglesSphereOccluderCache", 200, 200, 600, 600);
+		Render render = new Render(imageWriter, scene);
+		RenderStatistics expected = render.renderImage();
+
+		render.setOccluderCache(true);
+		RenderStatistics statistics = render.renderImage();
+		render.writeToImage();
+		assertEquals("Bad shadow rays", expected.getShadowRays(), statistics.getShadowRays());
+		assertEquals("Bad blocked rays", expected.getIntersectionHits(), statistics.getIntersectionHits());
+		assertTrue("Occluder cache was not used", statistics.getOccluderHits() > 0);
+	}
+
+	/**
+	 * the scene of trianglesSphere without the light
+	 */
+	private static Scene trianglesSphereScene() {
+		Scene scene = new Scene("Test scene");
+		scene.setCamera(new Camera(new Point3D(0, 0, -1000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+		scene.setDistance(1000);
+		scene.setBackground(Color.BLACK);
+		scene.setAmbientLight(new AmbientLight(new Color(java.awt.Color.WHITE), 0.15));
+
+		scene.addGeometries( //
+				new Triangle(Color.BLACK, new Material(0, 0.8, 60), //
+						new Point3D(-150, 150, 115), new Point3D(150, 150, 135), new Point3D(75, -75, 150)), //
+				new Triangle(Color.BLACK, new Material(0, 0.8, 60), //
+						new Point3D(-150, 150, 115), new Point3D(-70, -70, 140), new Point3D(75, -75, 150)), //
+				new Sphere(new Color(java.awt.Color.BLUE), new Material(0.5, 0.5, 30), // )
+						30, new Point3D(0, 0, 115)));
+		return scene;
+	}
+}
@@ -0,0 +1,50 @@
+package scene;
+
+import elements.AmbientLight;
+import elements.PointLight;
+import geometries.Sphere;
+import org.junit.Test;
+import primitives.Color;
+import primitives.Point3D;
+import primitives.Ray;
+import primitives.Vector;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testing Scene
+ *
+ * @author AhronS and IsraelN
+ */
+public class SceneTest {
+
+    /**
+     * Test method for
+     * {@link scene.Scene#compile()}.
+     */
+    @Test
+    public void testCompile() {
+        Scene scene = new Scene("Test scene");
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(Color.BLACK, 0));
+        scene.addGeometries(new Sphere(1d, new Point3D(0, 0, 5)));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: unchanged scene - compiled once
+        RenderScene compiled = scene.compile();
+        assertSame("Scene compiled again", compiled, scene.compile());
+
+        // TC02: changed scene - compiled again with the change
+        scene.addGeometries(new Sphere(1d, new Point3D(0, 0, 10)));
+        RenderScene changed = scene.compile();
+        assertNotSame("Changed scene was not compiled", compiled, changed);
+        assertEquals("Bad compiled geometries", 4,
+                changed.getGeometries().findIntersections(new Ray(Point3D.ZERO, new Vector(0, 0, 1))).size());
+
+        scene.addLights(new PointLight(new Color(100, 100, 100), new Point3D(0, 5, 0), 1, 0, 0));
+        assertEquals("Bad compiled lights", 1, scene.compile().getLights().size());
+
+        scene.setBackground(new Color(1, 2, 3));
+        assertEquals("Bad compiled background", new Color(1, 2, 3), scene.compile().getBackground());
+    }
+}